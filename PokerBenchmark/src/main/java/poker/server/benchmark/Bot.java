@@ -0,0 +1,126 @@
+package poker.server.benchmark;
+
+import java.util.Map;
+import java.util.Random;
+
+import poker.server.model.game.Game;
+import poker.server.model.player.Player;
+import poker.server.service.player.PlayerCommand;
+import poker.server.service.player.PlayerService;
+
+/**
+ * The players of a simulation, choosing the action of the current player of
+ * a game among its possible actions.
+ * <p>
+ * A bot only folds if two players at least are left in the hand: the engine
+ * can't end a hand won by folds, whose board is never complete, so such a
+ * hand would stall the table.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Simulation
+ */
+enum Bot {
+
+	/**
+	 * Checks or calls each turn, goes all in when it can't call any more.
+	 */
+	SCRIPTED {
+
+		@Override
+		Move choose(Game game, Player player, Random random) {
+			return follow(player);
+		}
+	},
+
+	/**
+	 * Mostly checks or calls, sometimes raises, goes all in or folds.
+	 */
+	RANDOM {
+
+		@Override
+		Move choose(Game game, Player player, Random random) {
+
+			Map<String, Integer> actions = player.getPossibleActions();
+			int draw = random.nextInt(100);
+
+			if (draw < 2)
+				return new Move(player, PlayerService.ALLIN, 0);
+
+			if (draw < 20 && actions.containsKey("raise")) {
+
+				int quantity = Math.max(game.getCurrentBet(), game
+						.getBigBlind()) * (1 + random.nextInt(3));
+				int toCall = game.getCurrentBet() - player.getCurrentBet();
+
+				if (quantity + toCall <= player.getCurrentTokens())
+					return new Move(player, PlayerService.RAISE, quantity);
+			}
+
+			if (draw < 35 && !actions.containsKey("check")
+					&& countPlayersInHand(game) > 2)
+				return new Move(player, PlayerService.FOLD, 0);
+
+			return follow(player);
+		}
+	};
+
+	/**
+	 * Choose the action of the current player of a game.
+	 *
+	 * @param game
+	 *            a started game, before its showdown
+	 * @param player
+	 *            the current player of the game
+	 * @param random
+	 *            the generator of the table
+	 */
+	abstract Move choose(Game game, Player player, Random random);
+
+	private static Move follow(Player player) {
+
+		Map<String, Integer> actions = player.getPossibleActions();
+
+		if (actions.containsKey("check"))
+			return new Move(player, PlayerService.CHECK, 0);
+		if (actions.containsKey("call"))
+			return new Move(player, PlayerService.CALL, 0);
+		return new Move(player, PlayerService.ALLIN, 0);
+	}
+
+	private static int countPlayersInHand(Game game) {
+
+		int count = 0;
+		for (Player player : game.getPlayers()) {
+			if (!player.isfolded())
+				++count;
+		}
+		return count;
+	}
+
+	/**
+	 * An action chosen by a bot.
+	 */
+	static final class Move {
+
+		final String playerName;
+		final int action;
+		final int value;
+
+		Move(Player player, int actioN, int valuE) {
+			playerName = player.getName();
+			action = actioN;
+			value = valuE;
+		}
+
+		PlayerCommand toCommand() {
+			return new PlayerCommand(playerName, action, value);
+		}
+	}
+}
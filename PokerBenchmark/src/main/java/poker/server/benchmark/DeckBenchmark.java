@@ -0,0 +1,66 @@
+package poker.server.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import poker.server.model.game.card.Deck;
+
+/**
+ * Shuffle of the deck and deal of the cards of a hand: two cards per player,
+ * three burned cards and the five cards of the board.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Deck
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+	@Param({ "2", "6", "10" })
+	public int players;
+
+	private Deck deck;
+
+	@Setup
+	public void newDeck() {
+		deck = new Deck(new Random(Tables.SEED));
+	}
+
+	@Benchmark
+	public void shuffle() {
+		deck.shuffle();
+	}
+
+	@Benchmark
+	public void shuffleAndDeal(Blackhole blackhole) {
+
+		deck.shuffle();
+
+		for (int i = 0; i < 2 * players + 3 + 5; ++i)
+			blackhole.consume(deck.getNextCard());
+	}
+}
@@ -0,0 +1,141 @@
+package poker.server.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import poker.server.infrastructure.RepositoryConsumer;
+import poker.server.infrastructure.RepositoryGame;
+import poker.server.infrastructure.auth.Consumer;
+import poker.server.model.game.Game;
+import poker.server.service.game.GameService;
+import poker.server.service.game.table.Lobby;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableRegistryLocal;
+import poker.server.service.game.table.TableTask;
+import poker.server.service.game.timer.TimingWheel;
+
+/**
+ * Build of the JSON data of a started game by GameService, out of the
+ * container: the repositories and the registry of the tables are replaced by
+ * proxies, and the tasks of the table are run by the calling thread.
+ * <p>
+ * A change of the game is simulated before each call by a task changing the
+ * version of the table, so the data of the game is built again.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see GameService
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GameDataBenchmark {
+
+	private static final String CONSUMER_KEY = "benchmark";
+	private static final String PLAYER_NAME = "player0";
+
+	@Param({ "4", "10" })
+	public int players;
+
+	private GameService gameService;
+	private TimingWheel timingWheel;
+	private Table table;
+	private String tableName;
+
+	private final TableTask<Void> change = new TableTask<Void>() {
+
+		@Override
+		public Void run(Game game) {
+			return null;
+		}
+	};
+
+	@Setup
+	public void startGame() throws Exception {
+
+		Game game = Tables.newGame(players, new Random(Tables.SEED));
+		game.start();
+		tableName = game.getName();
+
+		Executor callingThread = new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+
+		timingWheel = new TimingWheel(TimingWheel.DEFAULT_TICK,
+				TimeUnit.MILLISECONDS, TimingWheel.DEFAULT_SIZE);
+		timingWheel.start();
+
+		Lobby lobby = new Lobby();
+		RepositoryGame repositoryGame = InProcess.proxy(RepositoryGame.class);
+		TableRegistryLocal tableRegistry = InProcess.proxy(
+				TableRegistryLocal.class, lobby, timingWheel);
+
+		table = new Table(game, callingThread, callingThread, repositoryGame,
+				tableRegistry);
+		tableRegistry = InProcess.proxy(TableRegistryLocal.class, table,
+				lobby, timingWheel);
+
+		gameService = new GameService();
+		InProcess.inject(gameService, "repositoryConsumer", InProcess.proxy(
+				RepositoryConsumer.class, new Consumer(CONSUMER_KEY,
+						CONSUMER_KEY, CONSUMER_KEY, CONSUMER_KEY)));
+		InProcess.inject(gameService, "tableRegistry", tableRegistry);
+	}
+
+	@TearDown
+	public void stopTimingWheel() {
+		timingWheel.stop();
+	}
+
+	@Benchmark
+	public Response fullGameData() {
+
+		table.submit(change);
+		return gameService.getCurrentGameData(CONSUMER_KEY, tableName,
+				PLAYER_NAME);
+	}
+
+	@Benchmark
+	public Response deltaGameData() {
+
+		long version = table.getVersion();
+		table.submit(change);
+		return gameService.getCurrentGameDataSince(CONSUMER_KEY, tableName,
+				PLAYER_NAME, version);
+	}
+
+	@Benchmark
+	public Response notModifiedGameData() {
+		return gameService.getCurrentGameDataSince(CONSUMER_KEY, tableName,
+				PLAYER_NAME, table.getVersion());
+	}
+}
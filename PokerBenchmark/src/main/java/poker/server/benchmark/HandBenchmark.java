@@ -0,0 +1,88 @@
+package poker.server.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import poker.server.model.game.card.Cards;
+import poker.server.model.game.card.Deck;
+import poker.server.model.player.Hand;
+import poker.server.model.player.HandEvaluator;
+
+/**
+ * Evaluation of the hands: the category of a hand of five cards, as asked by
+ * the players, and the strength of the seven cards of a player at the
+ * showdown. The hands are dealt once from a seeded deck, and read in turn.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Hand
+ * @see HandEvaluator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HandBenchmark {
+
+	private static final int NUMBER_HANDS = 1024;
+
+	private Hand[] hands;
+	private long[] sevenCards;
+	private int next;
+
+	@Setup
+	public void dealHands() {
+
+		Deck deck = new Deck(new Random(Tables.SEED));
+
+		hands = new Hand[NUMBER_HANDS];
+		sevenCards = new long[NUMBER_HANDS];
+
+		for (int i = 0; i < NUMBER_HANDS; ++i) {
+
+			deck.shuffle();
+			hands[i] = new Hand();
+			for (int j = 0; j < 5; ++j)
+				hands[i].addCard(deck.getNextCard());
+
+			long cards = Cards.EMPTY;
+			for (int j = 0; j < 7; ++j)
+				cards |= Cards.bit(deck.getNextCard().getCode());
+			sevenCards[i] = cards;
+		}
+	}
+
+	@Benchmark
+	public int evaluateHand() {
+		return hands[nextHand()].evaluateHand();
+	}
+
+	@Benchmark
+	public int evaluateSevenCards() {
+		return HandEvaluator.evaluate(sevenCards[nextHand()]);
+	}
+
+	private int nextHand() {
+		next = (next + 1) & (NUMBER_HANDS - 1);
+		return next;
+	}
+}
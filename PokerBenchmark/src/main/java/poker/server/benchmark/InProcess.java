@@ -0,0 +1,66 @@
+package poker.server.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Runs the services of the server out of the container: the beans they need
+ * are replaced by proxies, and injected in their private fields like the
+ * container does.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ */
+final class InProcess {
+
+	private InProcess() {
+	}
+
+	/**
+	 * A proxy returning to each method the first of the results of its return
+	 * type, null or false if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T proxy(Class<T> type, final Object... results) {
+
+		return (T) Proxy.newProxyInstance(type.getClassLoader(),
+				new Class<?>[] { type }, new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+
+						Class<?> returnType = method.getReturnType();
+						for (Object result : results) {
+							if (returnType.isInstance(result))
+								return result;
+						}
+						if (returnType == boolean.class)
+							return false;
+						return null;
+					}
+				});
+	}
+
+	/**
+	 * Set the field of a bean, injected by the container when deployed.
+	 */
+	static void inject(Object bean, String fieldName, Object value) {
+
+		try {
+			Field field = bean.getClass().getDeclaredField(fieldName);
+			field.setAccessible(true);
+			field.set(bean, value);
+		} catch (Exception e) {
+			throw new IllegalStateException("can't inject " + fieldName, e);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package poker.server.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latencies recorded by all the threads of a simulation, counted in
+ * buckets: each power of two of nanoseconds is cut in 32 buckets, so a
+ * percentile is known within about 3%, whatever the number of values.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(
+			(64 - SUB_BITS + 1) * SUB_BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a latency.
+	 *
+	 * @param nanos
+	 *            the latency, in nanoseconds
+	 */
+	void record(long nanos) {
+
+		long value = Math.max(nanos, 0);
+		counts.incrementAndGet(index(value));
+		count.incrementAndGet();
+		total.addAndGet(value);
+
+		long last;
+		while (value > (last = max.get()) && !max.compareAndSet(last, value))
+			;
+	}
+
+	long getCount() {
+		return count.get();
+	}
+
+	long getMax() {
+		return max.get();
+	}
+
+	long getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : total.get() / n;
+	}
+
+	/**
+	 *
+	 * @param percentile
+	 *            between 0 and 100
+	 * @return the lowest latency of the bucket holding the percentile, in
+	 *         nanoseconds
+	 */
+	long getPercentile(double percentile) {
+
+		long n = count.get();
+		if (n == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); ++i) {
+			seen += counts.get(i);
+			if (seen >= rank)
+				return Math.min(value(i), max.get());
+		}
+		return max.get();
+	}
+
+	private static int index(long value) {
+
+		if (value < SUB_BUCKETS)
+			return (int) value;
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	private static long value(int index) {
+
+		if (index < SUB_BUCKETS)
+			return index;
+
+		int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = index % SUB_BUCKETS;
+		return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+	}
+}
@@ -0,0 +1,102 @@
+package poker.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import poker.server.model.game.card.Card;
+import poker.server.model.game.card.Deck;
+import poker.server.model.player.CompareHands;
+import poker.server.model.player.HandEvaluator;
+import poker.server.model.player.Player;
+import poker.server.model.player.PlayerFactory;
+
+/**
+ * Ranking of the players at the showdown, from the categories of their best
+ * hands (getRanking) and from the strengths of their hands
+ * (getRankingByStrength).
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see CompareHands
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+	@Param({ "2", "4", "6", "8", "10" })
+	public int players;
+
+	private Map<Player, Integer> categories;
+	private Map<Player, Integer> strengths;
+
+	@Setup
+	public void dealHands() {
+
+		Deck deck = new Deck(new Random(Tables.SEED));
+		deck.shuffle();
+
+		List<Card> board = new ArrayList<Card>();
+		for (int i = 0; i < 5; ++i)
+			board.add(deck.getNextCard());
+
+		PlayerFactory playerFactory = new PlayerFactory();
+		categories = new HashMap<Player, Integer>();
+		strengths = new HashMap<Player, Integer>();
+
+		for (int i = 0; i < players; ++i) {
+
+			List<Card> holeCards = new ArrayList<Card>();
+			holeCards.add(deck.getNextCard());
+			holeCards.add(deck.getNextCard());
+
+			List<Card> cards = new ArrayList<Card>(holeCards);
+			cards.addAll(board);
+			int strength = HandEvaluator.evaluate(cards);
+
+			Player player = playerFactory.newPlayer("player" + i, "player"
+					+ i);
+			player.setBestHand(HandEvaluator.getBestHand(strength, holeCards,
+					board));
+			player.setValueBestHand(HandEvaluator.getCategory(strength));
+
+			categories.put(player, HandEvaluator.getCategory(strength));
+			strengths.put(player, strength);
+		}
+	}
+
+	@Benchmark
+	public Map<Player, Integer> getRanking() {
+		return CompareHands.getRanking(categories);
+	}
+
+	@Benchmark
+	public Map<Player, Integer> getRankingByStrength() {
+		return CompareHands.getRankingByStrength(strengths);
+	}
+}
@@ -0,0 +1,83 @@
+package poker.server.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import poker.server.model.game.Game;
+import poker.server.model.game.Pot;
+
+/**
+ * The end of a hand: the showdown alone, on a game played until the river
+ * before each call, and a whole hand from the start of the game to its
+ * showdown, each player checking or calling.
+ * <p>
+ * The game needs at least four players (dealer, blinds and first player to
+ * speak) to start.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Game
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ShowDownBenchmark {
+
+	@Param({ "4", "6", "8", "10" })
+	public int players;
+
+	private Random random;
+	private Game waitingGame;
+	private Game playedGame;
+
+	@Setup(Level.Trial)
+	public void newRandom() {
+		random = new Random(Tables.SEED);
+	}
+
+	@Setup(Level.Invocation)
+	public void newGames() {
+
+		waitingGame = Tables.newGame(players, random);
+
+		playedGame = Tables.newGame(players, random);
+		playedGame.start();
+		Tables.playToShowDown(playedGame);
+	}
+
+	@Benchmark
+	public List<Pot> showDown() {
+		return playedGame.showDown();
+	}
+
+	@Benchmark
+	public List<Pot> playHand() {
+
+		waitingGame.start();
+		Tables.playToShowDown(waitingGame);
+		return waitingGame.showDown();
+	}
+}
@@ -0,0 +1,533 @@
+package poker.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.Response;
+
+import org.json.JSONObject;
+
+import poker.server.infrastructure.RepositoryAccessToken;
+import poker.server.infrastructure.RepositoryConsumer;
+import poker.server.infrastructure.RepositoryGame;
+import poker.server.infrastructure.RepositoryGameType;
+import poker.server.infrastructure.RepositoryPlayer;
+import poker.server.infrastructure.auth.AccessToken;
+import poker.server.infrastructure.auth.Consumer;
+import poker.server.model.game.Game;
+import poker.server.model.game.GameFactory;
+import poker.server.model.game.GameInvariants;
+import poker.server.model.player.Player;
+import poker.server.service.game.GameService;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableRegistry;
+import poker.server.service.game.table.TableTask;
+import poker.server.service.player.PlayerService;
+import poker.server.service.sign.SignatureService;
+
+/**
+ * Headless simulation of many tables played at the same time by bots, to
+ * load and soak the engine. Each table plays its hands one after the other,
+ * the tables are interleaved on a pool of threads: a thread plays a whole
+ * hand of a table, then takes the next table waiting.
+ * <p>
+ * The hands are played in one of three modes:
+ * <ul>
+ * <li>engine: the commands of the players are run on the game by the thread
+ * of the table,</li>
+ * <li>tables: the commands are submitted to the tables of a registry, run by
+ * its workers, like the services do,</li>
+ * <li>services: the actions are signed and sent to PlayerService and
+ * GameService, injected with the registry and with repositories knowing one
+ * consumer and its access token.</li>
+ * </ul>
+ * The invariants of each game are checked at its start and at the end of
+ * each hand, see {@link GameInvariants}. The report gives the hands per
+ * second, the latency of the actions, the allocation rate and the errors and
+ * violations found. Only the hands played up to their showdown are counted
+ * in the hands per second: a hand ended by an error of the engine is counted
+ * apart, as a failed hand.
+ * <p>
+ * The options are given as {@code name=value}, for example:
+ * {@code java -cp target/benchmarks.jar poker.server.benchmark.Simulation tables=2000 hands=50 mode=tables}
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Bot
+ * @see SimulationReport
+ */
+public class Simulation {
+
+	/**
+	 * How the actions of the bots reach the games.
+	 */
+	enum Mode {
+		ENGINE, TABLES, SERVICES
+	}
+
+	private static final String CONSUMER_KEY = "simulation";
+	private static final String ACCESS_TOKEN = "simulation";
+	private static final String SECRET = "simulation";
+
+	// failed actions in a row after which a hand is given up
+	private static final int MAX_FAILURES = 10;
+
+	// seconds waited for a task run by a table
+	private static final int TABLE_TIMEOUT = 10;
+
+	private final int tableCount;
+	private final int playerCount;
+	private final int handCount;
+	private final int threadCount;
+	private final long seed;
+	private final Bot bot;
+	private final Mode mode;
+
+	private final SimulationReport report = new SimulationReport();
+	private final AtomicLong nonces = new AtomicLong();
+
+	private ExecutorService drivers;
+	private CountDownLatch finished;
+
+	private TableRegistry registry;
+	private PlayerService playerService;
+	private GameService gameService;
+
+	/**
+	 * Constructor with parameters.
+	 *
+	 * @param options
+	 *            the options of the simulation, by name
+	 */
+	Simulation(Map<String, String> options) {
+
+		tableCount = Integer.parseInt(options.get("tables"));
+		playerCount = Integer.parseInt(options.get("players"));
+		handCount = Integer.parseInt(options.get("hands"));
+		threadCount = Integer.parseInt(options.get("threads"));
+		seed = Long.parseLong(options.get("seed"));
+		bot = Bot.valueOf(options.get("bots").toUpperCase(Locale.ENGLISH));
+		mode = Mode.valueOf(options.get("mode").toUpperCase(Locale.ENGLISH));
+
+		// the prizes of an ended game go to the first three players
+		if (playerCount < 3 || playerCount > 10)
+			throw new IllegalArgumentException(
+					"players must be between 3 and 10");
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+
+		Map<String, String> options = new LinkedHashMap<String, String>();
+		options.put("tables", "1000");
+		options.put("players", "6");
+		options.put("hands", "100");
+		options.put("threads", String.valueOf(2 * Runtime.getRuntime()
+				.availableProcessors()));
+		options.put("seed", String.valueOf(Tables.SEED));
+		options.put("bots", "random");
+		options.put("mode", "engine");
+
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (equals < 0 || !options.containsKey(arg.substring(0, equals))) {
+				System.err.println("options: " + options);
+				System.exit(2);
+			}
+			options.put(arg.substring(0, equals), arg.substring(equals + 1));
+		}
+
+		System.out.println("simulation " + options);
+		Simulation simulation = new Simulation(options);
+		simulation.run();
+		simulation.report.print(System.out);
+
+		if (simulation.report.getViolations() > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Play all the hands of all the tables, and wait for the end.
+	 */
+	void run() throws InterruptedException {
+
+		if (mode != Mode.ENGINE)
+			startContainer();
+
+		// the drivers check the games themselves
+		GameInvariants.setSamplingRate(0);
+		drivers = Executors.newFixedThreadPool(threadCount);
+		finished = new CountDownLatch(tableCount);
+
+		report.start();
+		for (int i = 0; i < tableCount; ++i)
+			drivers.execute(new TableDriver(i));
+		finished.await();
+		report.stop();
+
+		drivers.shutdown();
+		if (registry != null)
+			registry.stopWorkers();
+	}
+
+	/**
+	 * Build the registry of the tables and the services like the container,
+	 * the repositories only know the consumer of the bots and its token.
+	 */
+	private void startContainer() {
+
+		registry = new TableRegistry();
+		InProcess.inject(registry, "repositoryGame", InProcess.proxy(
+				RepositoryGame.class, Collections.emptyList()));
+		InProcess.inject(registry, "repositoryGameType", InProcess.proxy(
+				RepositoryGameType.class, Collections.emptyList()));
+		InProcess.inject(registry, "gameFactory", new GameFactory());
+		registry.startWorkers();
+
+		Consumer consumer = new Consumer(CONSUMER_KEY, SECRET, CONSUMER_KEY,
+				CONSUMER_KEY);
+		RepositoryConsumer repositoryConsumer = InProcess.proxy(
+				RepositoryConsumer.class, consumer);
+		RepositoryAccessToken repositoryAccessToken = InProcess.proxy(
+				RepositoryAccessToken.class, new AccessToken(consumer,
+						ACCESS_TOKEN, SECRET, null, null, 0));
+
+		playerService = new PlayerService();
+		InProcess.inject(playerService, "repositoryPlayer",
+				InProcess.proxy(RepositoryPlayer.class));
+		InProcess.inject(playerService, "repositoryConsumer",
+				repositoryConsumer);
+		InProcess.inject(playerService, "repositoryAccessToken",
+				repositoryAccessToken);
+		InProcess.inject(playerService, "tableRegistry", registry);
+
+		gameService = new GameService();
+		InProcess.inject(gameService, "repositoryConsumer",
+				repositoryConsumer);
+		InProcess.inject(gameService, "repositoryAccessToken",
+				repositoryAccessToken);
+		InProcess.inject(gameService, "tableRegistry", registry);
+	}
+
+	/**
+	 * Sign the fields of a request with the secrets of the consumer of the
+	 * bots and of its token.
+	 */
+	private String sign(int type, String fields) {
+
+		String signed = "consumerKey&" + CONSUMER_KEY + "&token&"
+				+ ACCESS_TOKEN + "&" + fields + "&timestamp&"
+				+ System.currentTimeMillis() / 1000 + "&nonce&"
+				+ nonces.incrementAndGet();
+		return SignatureService.sign(type, SECRET, SECRET, signed) + "&"
+				+ signed;
+	}
+
+	/**
+	 * The name of an error, without the names of the players or of the
+	 * games.
+	 */
+	private static String describe(Throwable error) {
+		return describe(error.getClass().getSimpleName(), error.getMessage());
+	}
+
+	private static String describe(String source, String message) {
+		return source
+				+ ": "
+				+ String.valueOf(message)
+						.replaceAll("t\\d+g\\d+p\\d+", "<player>")
+						.replaceAll(
+								"[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}",
+								"<game>");
+	}
+
+	/**
+	 * Plays the hands of a table, one hand each time it is run. The
+	 * generator of the table shuffles its decks and draws the actions of its
+	 * bots, only used by one thread at a time.
+	 */
+	private class TableDriver implements Runnable {
+
+		private final int index;
+		private final Random random;
+
+		private int games;
+		private int hands;
+
+		private Game game;
+		private Table table;
+		private List<Player> seated;
+		private boolean violated;
+
+		private final TableTask<Bot.Move> nextMove = new TableTask<Bot.Move>() {
+
+			@Override
+			public Bot.Move run(Game currentGame) {
+
+				if (!currentGame.isStarted()
+						|| currentGame.getCurrentRound() == Game.SHOWDOWN)
+					return null;
+
+				return bot.choose(currentGame, currentGame.getCurrentPlayer(),
+						random);
+			}
+		};
+
+		private final TableTask<Boolean> stalled = new TableTask<Boolean>() {
+
+			@Override
+			public Boolean run(Game currentGame) {
+				return !currentGame.isStarted()
+						|| currentGame.getCurrentRound() != Game.SHOWDOWN
+						|| currentGame.getFlipedCards().size() < 5;
+			}
+		};
+
+		private final TableTask<Void> showDown = new TableTask<Void>() {
+
+			@Override
+			public Void run(Game currentGame) {
+				currentGame.showDown();
+				return null;
+			}
+		};
+
+		private final TableTask<Void> handOver = new TableTask<Void>() {
+
+			@Override
+			public Void run(Game currentGame) {
+				checkInvariants(currentGame);
+				return null;
+			}
+		};
+
+		TableDriver(int indeX) {
+			index = indeX;
+			random = new Random(seed + indeX);
+		}
+
+		@Override
+		public void run() {
+
+			try {
+				if (game == null || game.isEnded())
+					newGame();
+				playHand();
+
+			} catch (ExecutionException e) {
+				report.error(describe(e.getCause()));
+				report.failedHand();
+				game = null;
+			} catch (Exception e) {
+				report.error(describe(e));
+				report.failedHand();
+				game = null;
+			}
+
+			if (++hands < handCount)
+				drivers.execute(this);
+			else
+				finished.countDown();
+		}
+
+		private void newGame() {
+
+			game = Tables.newGame(playerCount, "t" + index + "g" + games++
+					+ "p", random);
+			game.start();
+
+			seated = new ArrayList<Player>(game.getPlayers());
+			violated = false;
+			checkInvariants(game);
+
+			table = null;
+			if (mode != Mode.ENGINE) {
+				table = registry.register(game);
+				for (Player player : seated)
+					registry.seat(player.getName(), game.getName());
+			}
+			report.game();
+		}
+
+		private void playHand() throws Exception {
+
+			int failures = 0;
+			Bot.Move move;
+
+			while ((move = read(nextMove)) != null) {
+
+				if (play(move))
+					failures = 0;
+				else if (++failures == MAX_FAILURES) {
+					report.stalledHand();
+					game = null;
+					return;
+				}
+			}
+
+			// the pots of a stalled hand are left as they are, not checked
+			if (read(stalled)) {
+				report.stalledHand();
+				game = null;
+				return;
+			}
+
+			// the error of a showdown failing is reported
+			if (!showDown()) {
+				report.failedHand();
+				game = null;
+				return;
+			}
+
+			report.hand();
+			read(handOver);
+		}
+
+		/**
+		 * Run a task only reading the game, on the table if the game has one.
+		 */
+		private <T> T read(TableTask<T> task) throws Exception {
+
+			if (table == null)
+				return task.run(game);
+			return table.read(task).get(TABLE_TIMEOUT, TimeUnit.SECONDS);
+		}
+
+		/**
+		 * Play an action chosen by a bot, the errors are reported.
+		 *
+		 * @return true if the action has been played
+		 */
+		private boolean play(Bot.Move move) throws Exception {
+
+			String signature = null;
+			if (mode == Mode.SERVICES)
+				signature = sign(move.action,
+						move.action == PlayerService.RAISE ? "playerName&"
+								+ move.playerName + "&quantity&" + move.value
+								: "playerName&" + move.playerName);
+
+			long start = System.nanoTime();
+			try {
+				switch (mode) {
+
+				case ENGINE:
+					move.toCommand().run(game);
+					return true;
+
+				case TABLES:
+					return succeeded(table.submit(move.toCommand()));
+
+				default:
+					return succeeded(act(move.action, signature));
+				}
+
+			} catch (RuntimeException e) {
+				report.error(describe(e));
+				return false;
+			} finally {
+				report.action(System.nanoTime() - start);
+			}
+		}
+
+		private Response act(int action, String signature) {
+
+			switch (action) {
+
+			case PlayerService.FOLD:
+				return playerService.fold(CONSUMER_KEY, signature);
+
+			case PlayerService.CALL:
+				return playerService.call(CONSUMER_KEY, signature);
+
+			case PlayerService.CHECK:
+				return playerService.check(CONSUMER_KEY, signature);
+
+			case PlayerService.ALLIN:
+				return playerService.allIn(CONSUMER_KEY, signature);
+
+			default:
+				return playerService.raise(CONSUMER_KEY, signature);
+			}
+		}
+
+		private boolean showDown() throws Exception {
+
+			try {
+				switch (mode) {
+
+				case ENGINE:
+					game.showDown();
+					return true;
+
+				case TABLES:
+					return succeeded(table.submit(showDown));
+
+				default:
+					return succeeded(gameService.showDown(CONSUMER_KEY, sign(
+							SignatureService.SHOWDOWN,
+							"tableName&" + game.getName())));
+				}
+
+			} catch (RuntimeException e) {
+				report.error(describe(e));
+				return false;
+			}
+		}
+
+		private boolean succeeded(Future<?> result) throws Exception {
+
+			try {
+				result.get(TABLE_TIMEOUT, TimeUnit.SECONDS);
+				return true;
+			} catch (ExecutionException e) {
+				report.error(describe(e.getCause()));
+				return false;
+			}
+		}
+
+		private boolean succeeded(Response response) {
+
+			JSONObject json = (JSONObject) response.getEntity();
+			if ("ok".equals(json.optString("stat")))
+				return true;
+
+			report.error(describe("service", json.optString("message")));
+			return false;
+		}
+
+		/**
+		 * Check the invariants of the game between two hands. The checks and
+		 * the violations are counted by GameInvariants, a game is only
+		 * described once in the report.
+		 */
+		private void checkInvariants(Game currentGame) {
+
+			List<GameInvariants.Violation> found = GameInvariants
+					.check(currentGame);
+
+			if (!found.isEmpty() && !violated) {
+				violated = true;
+				report.violation(String.format("table %d, game %d, hand %d: %s",
+						index, games, currentGame.getHandNumber(), found));
+			}
+		}
+	}
+}
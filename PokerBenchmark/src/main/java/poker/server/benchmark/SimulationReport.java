@@ -0,0 +1,211 @@
+package poker.server.benchmark;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import poker.server.model.game.GameInvariants;
+
+/**
+ * The measures of a simulation, written by all its threads: the hands and
+ * actions played, the latency of the actions, the errors and violated
+ * invariants found. The bytes allocated are those of all the threads of the
+ * virtual machine, between the start and the stop of the simulation. The
+ * invariants checked are counted by {@link GameInvariants}, only the first
+ * games violating them are described.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Simulation
+ */
+final class SimulationReport {
+
+	// violations described in the report, the other ones are only counted
+	private static final int VIOLATIONS_SHOWN = 20;
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final LatencyHistogram actionLatency = new LatencyHistogram();
+	private final AtomicLong hands = new AtomicLong();
+	private final AtomicLong failedHands = new AtomicLong();
+	private final AtomicLong stalledHands = new AtomicLong();
+	private final AtomicLong games = new AtomicLong();
+	private final AtomicLong violations = new AtomicLong();
+	private final AtomicInteger violationsShown = new AtomicInteger();
+	private final Queue<String> violationMessages = new ConcurrentLinkedQueue<String>();
+	private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<String, AtomicLong>();
+
+	private final com.sun.management.ThreadMXBean allocations;
+	private final Map<Long, Long> allocatedAtStart = new HashMap<Long, Long>();
+	private long startTime;
+	private long elapsedNanos;
+	private long allocatedBytes;
+
+	SimulationReport() {
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads)
+						.isThreadAllocatedMemorySupported()) {
+
+			allocations = (com.sun.management.ThreadMXBean) threads;
+			allocations.setThreadAllocatedMemoryEnabled(true);
+		} else
+			allocations = null;
+	}
+
+	void action(long nanos) {
+		actionLatency.record(nanos);
+	}
+
+	void hand() {
+		hands.incrementAndGet();
+	}
+
+	void failedHand() {
+		failedHands.incrementAndGet();
+	}
+
+	void stalledHand() {
+		stalledHands.incrementAndGet();
+	}
+
+	void game() {
+		games.incrementAndGet();
+	}
+
+	void error(String error) {
+
+		AtomicLong count = errors.get(error);
+		if (count == null) {
+			AtomicLong first = new AtomicLong();
+			count = errors.putIfAbsent(error, first);
+			if (count == null)
+				count = first;
+		}
+		count.incrementAndGet();
+	}
+
+	void violation(String message) {
+
+		violations.incrementAndGet();
+		if (violationsShown.incrementAndGet() <= VIOLATIONS_SHOWN)
+			violationMessages.add(message);
+	}
+
+	long getViolations() {
+		return violations.get();
+	}
+
+	/**
+	 * Start measuring the duration and the allocations.
+	 */
+	void start() {
+
+		if (allocations != null) {
+			for (long id : allocations.getAllThreadIds())
+				allocatedAtStart.put(id,
+						allocations.getThreadAllocatedBytes(id));
+		}
+		startTime = System.nanoTime();
+	}
+
+	/**
+	 * Stop measuring the duration and the allocations, the threads which have
+	 * ended since the start aren't counted.
+	 */
+	void stop() {
+
+		elapsedNanos = System.nanoTime() - startTime;
+
+		if (allocations != null) {
+			for (long id : allocations.getAllThreadIds()) {
+				long allocated = allocations.getThreadAllocatedBytes(id);
+				Long atStart = allocatedAtStart.get(id);
+				if (allocated > 0)
+					allocatedBytes += allocated
+							- (atStart == null ? 0 : atStart);
+			}
+		}
+	}
+
+	/**
+	 * Print the measures of a simulation, once stopped.
+	 *
+	 * @param out
+	 *            where the report is written
+	 */
+	void print(PrintStream out) {
+
+		double seconds = elapsedNanos / 1e9;
+
+		out.printf("duration            %.1f s%n", seconds);
+		out.printf("games               %d%n", games.get());
+		out.printf("hands               %d (%.0f hands/s)%n", hands.get(),
+				hands.get() / seconds);
+		out.printf("failed hands        %d%n", failedHands.get());
+		out.printf("stalled hands       %d%n", stalledHands.get());
+		out.printf("actions             %d (%.0f actions/s)%n",
+				actionLatency.getCount(), actionLatency.getCount() / seconds);
+
+		out.printf("action latency      mean %s", micros(actionLatency
+				.getMean()));
+		for (double percentile : PERCENTILES)
+			out.printf(", p%s %s", percentile == Math.rint(percentile) ? String
+					.valueOf((int) percentile) : String.valueOf(percentile),
+					micros(actionLatency.getPercentile(percentile)));
+		out.printf(", max %s%n", micros(actionLatency.getMax()));
+
+		if (allocations == null)
+			out.printf("allocation rate     not measured by this VM%n");
+		else
+			out.printf("allocation rate     %.1f MB/s (%d bytes/action)%n",
+					allocatedBytes / seconds / (1 << 20),
+					actionLatency.getCount() == 0 ? 0 : allocatedBytes
+							/ actionLatency.getCount());
+
+		out.printf("errors              %d%n", countErrors());
+		for (Map.Entry<String, AtomicLong> error : new TreeMap<String, AtomicLong>(
+				errors).entrySet())
+			out.printf("  %8d  %s%n", error.getValue().get(), error.getKey());
+
+		out.printf("invariant checks    %d%n", GameInvariants.getChecks());
+		for (GameInvariants.Violation violation : GameInvariants.Violation
+				.values())
+			out.printf("  %8d  %s%n", GameInvariants.getViolations(violation),
+					violation);
+
+		out.printf("violated games      %d%n", violations.get());
+		for (String message : violationMessages)
+			out.printf("  %s%n", message);
+	}
+
+	private long countErrors() {
+
+		long count = 0;
+		for (AtomicLong error : errors.values())
+			count += error.get();
+		return count;
+	}
+
+	private static String micros(long nanos) {
+		return String.format("%.1f us", nanos
+				/ (double) TimeUnit.MICROSECONDS.toNanos(1));
+	}
+}
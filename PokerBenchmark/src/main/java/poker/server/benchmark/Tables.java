@@ -0,0 +1,90 @@
+package poker.server.benchmark;
+
+import java.util.Random;
+
+import poker.server.model.game.Game;
+import poker.server.model.game.GameFactory;
+import poker.server.model.game.GameFactoryLocal;
+import poker.server.model.game.parameters.GameType;
+import poker.server.model.game.parameters.SitAndGo;
+import poker.server.model.player.Player;
+import poker.server.model.player.PlayerFactory;
+import poker.server.model.player.PlayerFactoryLocal;
+
+/**
+ * Builds the games used by the benchmarks. The decks are shuffled with seeded
+ * generators, so two runs of a benchmark play the same cards.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ */
+final class Tables {
+
+	static final long SEED = 20120301L;
+
+	private static final PlayerFactoryLocal playerFactory = new PlayerFactory();
+	private static final GameFactoryLocal gameFactory = new GameFactory();
+
+	private Tables() {
+	}
+
+	/**
+	 * Build a full game, not started.
+	 * 
+	 * @param numberOfPlayers
+	 *            the number of seats of the game, all taken
+	 * @param random
+	 *            the generator shuffling the deck
+	 */
+	static Game newGame(int numberOfPlayers, Random random) {
+		return newGame(numberOfPlayers, "player", random);
+	}
+
+	/**
+	 * Build a full game, not started.
+	 * 
+	 * @param numberOfPlayers
+	 *            the number of seats of the game, all taken
+	 * @param prefix
+	 *            the prefix of the names of the players, followed by their
+	 *            seat
+	 * @param random
+	 *            the generator shuffling the deck
+	 */
+	static Game newGame(int numberOfPlayers, String prefix, Random random) {
+
+		GameType gameType = new SitAndGo();
+		gameType.setPlayerNumber(numberOfPlayers);
+
+		Game game = gameFactory.newGame(gameType);
+		game.getDeck().setRandom(random);
+
+		for (int i = 0; i < numberOfPlayers; ++i)
+			game.add(playerFactory.newPlayer(prefix + i, prefix + i));
+
+		return game;
+	}
+
+	/**
+	 * Play the current hand until the showdown, each player checking or
+	 * calling the current bet.
+	 */
+	static void playToShowDown(Game game) {
+
+		while (game.getCurrentRound() != Game.SHOWDOWN) {
+
+			Player player = game.getCurrentPlayer();
+
+			if (player.getCurrentBet() == game.getCurrentBet())
+				player.check();
+			else
+				player.call();
+		}
+	}
+}
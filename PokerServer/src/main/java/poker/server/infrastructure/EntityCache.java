@@ -0,0 +1,124 @@
+package poker.server.infrastructure;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The entities of one type kept in memory between the requests, by id, and
+ * the list of all of them. The cache holds at most SIZE entities, each one
+ * for TTL minutes after it has been loaded.
+ * <p>
+ * A cache is shared by all the instances of a repository, so it is created
+ * once, in a static field of the repository.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see RepositoryCachedJPA
+ */
+public class EntityCache<TId, T> {
+
+	public static final int SIZE = 1000;
+	public static final int TTL = 5;
+
+	private static final String ALL = "all";
+
+	private final Cache<TId, T> entities;
+	private final Cache<String, List<T>> all;
+
+	/**
+	 * Default constructor, keeps SIZE entities for TTL minutes.
+	 */
+	public EntityCache() {
+		this(SIZE, TTL, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * 
+	 * @param size
+	 *            the maximum number of entities kept
+	 * @param ttl
+	 *            the time an entity is kept after it has been loaded
+	 * @param unit
+	 *            the unit of ttl
+	 */
+	public EntityCache(int size, long ttl, TimeUnit unit) {
+
+		entities = CacheBuilder.newBuilder().maximumSize(size)
+				.expireAfterWrite(ttl, unit).build();
+		all = CacheBuilder.newBuilder().maximumSize(1)
+				.expireAfterWrite(ttl, unit).build();
+	}
+
+	/**
+	 * 
+	 * @param id
+	 *            the id of an entity
+	 * @return the entity, null if it isn't in the cache
+	 */
+	public T get(TId id) {
+		return entities.getIfPresent(id);
+	}
+
+	/**
+	 * 
+	 * @param id
+	 *            the id of an entity
+	 * @param entity
+	 *            the entity, detached
+	 */
+	public void put(TId id, T entity) {
+		entities.put(id, entity);
+	}
+
+	/**
+	 * 
+	 * @return the list of all the entities, null if it isn't in the cache
+	 */
+	public List<T> getAll() {
+		return all.getIfPresent(ALL);
+	}
+
+	/**
+	 * 
+	 * @param entitieS
+	 *            the list of all the entities, detached
+	 * @return the list kept, which can't be modified
+	 */
+	public List<T> putAll(List<T> entitieS) {
+
+		List<T> kept = Collections.unmodifiableList(entitieS);
+		all.put(ALL, kept);
+		return kept;
+	}
+
+	/**
+	 * Evict an entity, and the list of all of them.
+	 * 
+	 * @param id
+	 *            the id of the entity, null if it isn't known yet
+	 */
+	public void evict(Object id) {
+
+		if (id != null)
+			entities.invalidate(id);
+		all.invalidateAll();
+	}
+
+	/**
+	 * Evict all the entities.
+	 */
+	public void evictAll() {
+		entities.invalidateAll();
+		all.invalidateAll();
+	}
+}
@@ -23,6 +23,6 @@ import poker.server.infrastructure.auth.AccessToken;
 
 @Local
 public interface RepositoryAccessToken extends
-		RepositoryGeneric<AccessToken, String> {
+		RepositoryCached<AccessToken, String> {
 
 }
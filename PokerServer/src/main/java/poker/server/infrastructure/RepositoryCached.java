@@ -0,0 +1,46 @@
+package poker.server.infrastructure;
+
+/**
+ * @author PokerServerGroup
+ * 
+ *         Infrastructure interface : RepositoryCached
+ */
+
+import java.util.List;
+
+/**
+ * Generic interface of the repositories of the entities read much more often
+ * than written. The entities read through the cache are detached copies
+ * shared by all the requests: they must only be read, and never be given to a
+ * persist or a merge. They are evicted when they are written through the
+ * repository, or after EntityCache.TTL minutes.
+ */
+public interface RepositoryCached<T, TId> extends RepositoryGeneric<T, TId> {
+
+	/**
+	 * Load an entity from the cache, or from the database if it isn't in the
+	 * cache yet.
+	 * 
+	 * @param id
+	 *            the id of the entity
+	 * @return the entity, null if it doesn't exist
+	 */
+	public T loadCached(TId id);
+
+	/**
+	 * Load all the entities from the cache, or from the database if they
+	 * aren't in the cache yet.
+	 * 
+	 * @return the entities, in a list which must not be modified
+	 */
+	public List<T> loadAllCached();
+
+	/**
+	 * Forget an entity written without the repository, like the type of a game
+	 * merged with its game.
+	 * 
+	 * @param id
+	 *            the id of the entity
+	 */
+	public void evict(TId id);
+}
@@ -0,0 +1,107 @@
+package poker.server.infrastructure;
+
+/**
+ * @author PokerServerGroup
+ * 
+ *         Infrastructure class : RepositoryCachedJPA
+ */
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class implements the read-through cache of <b>RepositoryCached</b>.
+ * The entities put in the cache are detached from the persistence context
+ * which loaded them, and each write through the repository evicts the entity
+ * written.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see RepositoryCached
+ * @see EntityCache
+ */
+public class RepositoryCachedJPA<T, TId> extends RepositoryGenericJPA<T, TId>
+		implements RepositoryCached<T, TId> {
+
+	private final EntityCache<TId, T> cache;
+
+	/**
+	 * 
+	 * @param entityCache
+	 *            the cache shared by all the instances of the repository
+	 */
+	public RepositoryCachedJPA(EntityCache<TId, T> entityCache) {
+		cache = entityCache;
+	}
+
+	@Override
+	public T loadCached(TId id) {
+
+		T entity = cache.get(id);
+		if (entity != null)
+			return entity;
+
+		entity = load(id);
+		if (entity != null) {
+			em.detach(entity);
+			cache.put(id, entity);
+		}
+		return entity;
+	}
+
+	@Override
+	public List<T> loadAllCached() {
+
+		List<T> entities = cache.getAll();
+		if (entities != null)
+			return entities;
+
+		entities = loadAll();
+		for (T entity : entities)
+			em.detach(entity);
+
+		return cache.putAll(entities);
+	}
+
+	@Override
+	public void evict(TId id) {
+		cache.evict(id);
+	}
+
+	@Override
+	public T save(T entity) {
+		cache.evict(getId(entity));
+		return super.save(entity);
+	}
+
+	@Override
+	public T saveOrUpdate(T entity, TId id) {
+		cache.evict(id);
+		return super.saveOrUpdate(entity, id);
+	}
+
+	@Override
+	public List<T> saveOrUpdateAll(Collection<T> entities) {
+		for (T entity : entities)
+			cache.evict(getId(entity));
+		return super.saveOrUpdateAll(entities);
+	}
+
+	@Override
+	public T update(T entity) {
+		cache.evict(getId(entity));
+		return super.update(entity);
+	}
+
+	@Override
+	public void delete(TId id) {
+		cache.evict(id);
+		super.delete(id);
+	}
+}
@@ -26,6 +26,6 @@ import poker.server.infrastructure.auth.Consumer;
  * @see Consumer
  */
 @Local
-public interface RepositoryConsumer extends RepositoryGeneric<Consumer, String> {
+public interface RepositoryConsumer extends RepositoryCached<Consumer, String> {
 
 }
@@ -33,9 +33,31 @@ public interface RepositoryGame extends RepositoryGeneric<Game, String> {
 
 	public Game currentGame();
 
+	/**
+	 * Load a game with all it needs to be played in memory: the players and
+	 * their hands, the deck, the flipped cards, the pots and the ranking. The
+	 * other queries only load the game and its type.
+	 * 
+	 * @param tableName
+	 *            the name of the game
+	 * @return the game, null if it doesn't exist
+	 */
+	public Game loadTable(String tableName);
+
 	public boolean exist(GameType param);
 
 	public List<Game> getNotReadyGames();
 
-	public List<Game> getReadyOrNotGames();
+	/**
+	 * Read the games waiting for players or ready to start page by page, in
+	 * the order of their names.
+	 * 
+	 * @param after
+	 *            the name of the last game of the previous page, null for the
+	 *            first page
+	 * @param size
+	 *            the number of games of the page at most
+	 * @return the games of the page, less than size for the last one
+	 */
+	public List<Game> getReadyOrNotGames(String after, int size);
 }
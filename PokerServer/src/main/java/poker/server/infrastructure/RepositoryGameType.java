@@ -18,7 +18,7 @@ import poker.server.model.game.parameters.GameType;
  * @see GameType
  */
 @Local
-public interface RepositoryGameType extends RepositoryGeneric<GameType, String> {
+public interface RepositoryGameType extends RepositoryCached<GameType, String> {
 
 	boolean existSitAndGo();
 
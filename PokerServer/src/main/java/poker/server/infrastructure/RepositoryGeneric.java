@@ -6,6 +6,7 @@ package poker.server.infrastructure;
  *         Infrastructure interface : RepositoryGeneric
  */
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,9 +20,31 @@ public interface RepositoryGeneric<T, TId> {
 
 	public T saveOrUpdate(T entity, TId id);
 
+	/**
+	 * Insert the new entities and update the others. The rows already
+	 * written are read by a few queries, instead of one for each entity.
+	 * 
+	 * @param entities
+	 *            the entities to write
+	 * @return the managed entities, in the same order
+	 */
+	public List<T> saveOrUpdateAll(Collection<T> entities);
+
 	public void delete(TId id);
 
 	public List<T> loadAll();
 
+	/**
+	 * Read the entities page by page, in the order of their ids.
+	 * 
+	 * @param after
+	 *            the id of the last entity of the previous page, null for the
+	 *            first page
+	 * @param size
+	 *            the number of entities of the page at most
+	 * @return the entities of the page, less than size for the last one
+	 */
+	public List<T> loadPage(TId after, int size);
+
 	public T update(T entity);
 }
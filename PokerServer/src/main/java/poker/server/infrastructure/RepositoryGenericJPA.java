@@ -7,13 +7,32 @@ package poker.server.infrastructure;
  */
 
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
 
 /**
  * This class implements all generic database access functions from <b>RepositoryGeneric</b>
+ * <p>
+ * The writes of a flush are grouped in the JDBC batches of Hibernate (see
+ * hibernate.properties): the entities written often get their ids from a
+ * table generator so their inserts can be batched. A managed entity is never
+ * merged, its flush only writes what has changed; a detached one is merged
+ * on the copy read by the persistence context, and only its changed rows are
+ * written.
+ * <p>
+ * The large tables are read by pages, starting after the id of the last
+ * entity of the previous page: a page never reads the rows skipped.
  * 
  * @author <b> Rafik Ferroukh </b> <br>
  *         <b> Lucas Kerdoncuff </b> <br>
@@ -27,9 +46,13 @@ import javax.persistence.PersistenceContext;
  */
 public class RepositoryGenericJPA<T, TId> implements RepositoryGeneric<T, TId> {
 
+	// ids given at most to the IN list of one query
+	private static final int IDS_PER_QUERY = 500;
+
 	@PersistenceContext(unitName = "PokerServerPU")
 	protected EntityManager em;
 	private Class<T> persistentClass;
+	private String idName;
 
 	@SuppressWarnings("unchecked")
 	public RepositoryGenericJPA() {
@@ -47,17 +70,27 @@ public class RepositoryGenericJPA<T, TId> implements RepositoryGeneric<T, TId> {
 
 	@Override
 	public T saveOrUpdate(T entity, TId id) {
+		return upsert(Collections.singletonList(entity),
+				Collections.singletonList(id)).get(0);
+	}
+
+	@Override
+	public List<T> saveOrUpdateAll(Collection<T> entities) {
 
-		if (em.find(persistentClass, id) != null)
-			em.merge(entity);
-		else
-			em.persist(entity);
+		List<T> list = new ArrayList<T>(entities);
+		List<Object> ids = new ArrayList<Object>(list.size());
 
-		return entity;
+		for (T entity : list)
+			ids.add(getId(entity));
+
+		return upsert(list, ids);
 	}
 
 	@Override
 	public T update(T entity) {
+
+		if (em.contains(entity))
+			return entity;
 		return em.merge(entity);
 	}
 
@@ -74,9 +107,119 @@ public class RepositoryGenericJPA<T, TId> implements RepositoryGeneric<T, TId> {
 
 	@Override
 	public List<T> loadAll() {
-		@SuppressWarnings("unchecked")
-		List<T> entities = em.createQuery("from " + persistentClass.getName())
-				.getResultList();
-		return entities;
+		return em.createQuery(
+				"SELECT e FROM " + persistentClass.getName() + " e",
+				persistentClass).getResultList();
+	}
+
+	@Override
+	public List<T> loadPage(TId after, int size) {
+		return loadPage(null, Collections.<String, Object> emptyMap(), after,
+				size);
+	}
+
+	/**
+	 * Read the entities matching a condition page by page, in the order of
+	 * their ids.
+	 * 
+	 * @param condition
+	 *            the JPQL condition on the entity e, null for all the entities
+	 * @param parameters
+	 *            the parameters of the condition
+	 * @param after
+	 *            the id of the last entity of the previous page, null for the
+	 *            first page
+	 * @param size
+	 *            the number of entities of the page at most
+	 * @return the entities of the page, less than size for the last one
+	 */
+	protected List<T> loadPage(String condition,
+			Map<String, Object> parameters, TId after, int size) {
+
+		String id = "e." + getIdName();
+		StringBuilder query = new StringBuilder("SELECT e FROM ").append(
+				persistentClass.getName()).append(" e");
+		String where = " WHERE ";
+
+		if (condition != null) {
+			query.append(where).append('(').append(condition).append(')');
+			where = " AND ";
+		}
+		if (after != null)
+			query.append(where).append(id).append(" > :after");
+		query.append(" ORDER BY ").append(id);
+
+		TypedQuery<T> q = em.createQuery(query.toString(), persistentClass);
+
+		for (Map.Entry<String, Object> parameter : parameters.entrySet())
+			q.setParameter(parameter.getKey(), parameter.getValue());
+		if (after != null)
+			q.setParameter("after", after);
+
+		return q.setMaxResults(size).getResultList();
+	}
+
+	/**
+	 * 
+	 * @return the id of the entity, null if it has none yet
+	 */
+	protected Object getId(T entity) {
+		return em.getEntityManagerFactory().getPersistenceUnitUtil()
+				.getIdentifier(entity);
+	}
+
+	private List<T> upsert(List<T> entities, List<?> ids) {
+
+		// the rows already written are read in the persistence context, where
+		// merge finds them without reading them again
+		List<Object> detached = new ArrayList<Object>();
+		for (int i = 0; i < entities.size(); ++i) {
+			if (ids.get(i) != null && !em.contains(entities.get(i)))
+				detached.add(ids.get(i));
+		}
+
+		Set<Object> written = new HashSet<Object>();
+		for (int from = 0; from < detached.size(); from += IDS_PER_QUERY) {
+
+			TypedQuery<T> q = em.createQuery("SELECT e FROM "
+					+ persistentClass.getName() + " e WHERE e."
+					+ getIdName() + " IN :ids", persistentClass);
+			q.setParameter("ids", detached.subList(from,
+					Math.min(from + IDS_PER_QUERY, detached.size())));
+
+			for (T entity : q.getResultList())
+				written.add(getId(entity));
+		}
+
+		List<T> managed = new ArrayList<T>(entities.size());
+		for (int i = 0; i < entities.size(); ++i) {
+
+			T entity = entities.get(i);
+
+			if (em.contains(entity))
+				managed.add(entity);
+			else if (written.contains(ids.get(i)))
+				managed.add(em.merge(entity));
+			else {
+				em.persist(entity);
+				managed.add(entity);
+			}
+		}
+		return managed;
+	}
+
+	private String getIdName() {
+
+		if (idName == null) {
+
+			EntityType<T> type = em.getMetamodel().entity(persistentClass);
+
+			for (SingularAttribute<? super T, ?> attribute : type
+					.getSingularAttributes()) {
+				if (attribute.isId())
+					idName = attribute.getName();
+			}
+		}
+		return idName;
 	}
 }
@@ -28,4 +28,13 @@ import poker.server.model.player.Player;
 @Local
 public interface RepositoryPlayer extends RepositoryGeneric<Player, String> {
 
+	/**
+	 * Give the game of a player, without loading the player or the game.
+	 * 
+	 * @param playerName
+	 *            the name of the player
+	 * @return the name of the game of the player, null if the player doesn't
+	 *         exist or has no game
+	 */
+	public String getTableName(String playerName);
 }
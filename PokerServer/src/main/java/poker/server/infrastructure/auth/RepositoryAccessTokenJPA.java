@@ -8,8 +8,9 @@ package poker.server.infrastructure.auth;
 
 import javax.ejb.Stateless;
 
+import poker.server.infrastructure.EntityCache;
 import poker.server.infrastructure.RepositoryAccessToken;
-import poker.server.infrastructure.RepositoryGenericJPA;
+import poker.server.infrastructure.RepositoryCachedJPA;
 
 /**
  * Interface that Manages the database requests for the <b>AccessToken</b>
@@ -28,6 +29,12 @@ import poker.server.infrastructure.RepositoryGenericJPA;
  */
 @Stateless
 public class RepositoryAccessTokenJPA extends
-		RepositoryGenericJPA<AccessToken, String> implements
+		RepositoryCachedJPA<AccessToken, String> implements
 		RepositoryAccessToken {
+
+	private static final EntityCache<String, AccessToken> CACHE = new EntityCache<String, AccessToken>();
+
+	public RepositoryAccessTokenJPA() {
+		super(CACHE);
+	}
 }
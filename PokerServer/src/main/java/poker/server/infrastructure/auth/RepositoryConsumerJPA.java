@@ -8,8 +8,9 @@ package poker.server.infrastructure.auth;
 
 import javax.ejb.Stateless;
 
+import poker.server.infrastructure.EntityCache;
+import poker.server.infrastructure.RepositoryCachedJPA;
 import poker.server.infrastructure.RepositoryConsumer;
-import poker.server.infrastructure.RepositoryGenericJPA;
 
 /**
  * Interface that Manages the database requests for the <b>Consumer</b>
@@ -28,6 +29,11 @@ import poker.server.infrastructure.RepositoryGenericJPA;
  */
 @Stateless
 public class RepositoryConsumerJPA extends
-		RepositoryGenericJPA<Consumer, String> implements RepositoryConsumer {
+		RepositoryCachedJPA<Consumer, String> implements RepositoryConsumer {
 
+	private static final EntityCache<String, Consumer> CACHE = new EntityCache<String, Consumer>();
+
+	public RepositoryConsumerJPA() {
+		super(CACHE);
+	}
 }
@@ -1,21 +1,34 @@
 package poker.server.infrastructure.crypt;
 
-import java.security.InvalidKeyException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.KeyGenerator;
-import javax.crypto.NoSuchPaddingException;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * This involves some tools to encrypt and decrypt request strings, using AES
  * algorithm.
  * <p>
+ * The keys derived from the password of a consumer are kept, so they are only
+ * derived the first time. Each thread reuses its own instances of the ciphers
+ * and of the MAC, which are only initialised with the key for each text.
+ * <p>
+ * The authenticated mode encrypts with AES/CBC and a random IV, then signs the
+ * IV and the encrypted text with HMAC-SHA256: a modified text is refused
+ * instead of being decrypted. Its keys are derived with PBKDF2.
  * 
  * @author <b> Rafik Ferroukh </b> <br>
  *         <b> Lucas Kerdoncuff </b> <br>
@@ -32,6 +45,54 @@ public class AES {
 
 	private final static String HEX = "0123456789ABCDEF";
 
+	private static final String AUTHENTICATED_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+	private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA1";
+	private static final byte[] KDF_SALT = "poker.server.crypt.AES".getBytes();
+	private static final int KDF_ITERATIONS = 10000;
+
+	private static final int KEY_SIZE = 16;
+	private static final int IV_SIZE = 16;
+	private static final int MAC_SIZE = 32;
+
+	// keys of the consumers kept at most, for each mode
+	private static final int KEYS = 1000;
+
+	private static final Cache<String, byte[]> RAW_KEYS = CacheBuilder
+			.newBuilder().maximumSize(KEYS).build();
+	private static final Cache<String, SecretKeySpec[]> AUTHENTICATED_KEYS = CacheBuilder
+			.newBuilder().maximumSize(KEYS).build();
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private static final ThreadLocal<Cipher> CIPHER = new ThreadLocal<Cipher>() {
+
+		@Override
+		protected Cipher initialValue() {
+			return newCipher(CIPHER_ALGORITHM);
+		}
+	};
+
+	private static final ThreadLocal<Cipher> AUTHENTICATED_CIPHER = new ThreadLocal<Cipher>() {
+
+		@Override
+		protected Cipher initialValue() {
+			return newCipher(AUTHENTICATED_TRANSFORMATION);
+		}
+	};
+
+	private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>() {
+
+		@Override
+		protected Mac initialValue() {
+			try {
+				return Mac.getInstance(MAC_ALGORITHM);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
 	/**
 	 * Encrypt a clear text using AES algorithm.
 	 * 
@@ -99,6 +160,17 @@ public class AES {
 	 */
 	private static byte[] getRawKey(byte[] seed) throws Exception {
 
+		String cacheKey = toHex(seed);
+		byte[] raw = RAW_KEYS.getIfPresent(cacheKey);
+		if (raw == null) {
+			raw = generateRawKey(seed);
+			RAW_KEYS.put(cacheKey, raw);
+		}
+		return raw;
+	}
+
+	private static byte[] generateRawKey(byte[] seed) throws Exception {
+
 		KeyGenerator keygen = KeyGenerator.getInstance(CIPHER_ALGORITHM);
 		SecureRandom sr = SecureRandom.getInstance(CIPHER_TRANSFORMATION);
 		sr.setSeed(seed);
@@ -126,7 +198,7 @@ public class AES {
 	private static byte[] encrypt(byte[] raw, byte[] clear) throws Exception {
 
 		SecretKeySpec skeySpec = new SecretKeySpec(raw, CIPHER_ALGORITHM);
-		Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+		Cipher cipher = CIPHER.get();
 		cipher.init(Cipher.ENCRYPT_MODE, skeySpec);
 		byte[] encrypted = cipher.doFinal(clear);
 		return encrypted;
@@ -147,33 +219,132 @@ public class AES {
 	private static byte[] decrypt(byte[] raw, byte[] encrypted) {
 
 		SecretKeySpec skeySpec = new SecretKeySpec(raw, CIPHER_ALGORITHM);
-		Cipher cipher = null;
-		try {
-			cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-		} catch (NoSuchAlgorithmException e) {
+		Cipher cipher = CIPHER.get();
 
-			e.printStackTrace();
-		} catch (NoSuchPaddingException e) {
+		byte[] decrypted = null;
 
-			e.printStackTrace();
-		}
 		try {
 			cipher.init(Cipher.DECRYPT_MODE, skeySpec);
-		} catch (InvalidKeyException e) {
-
+			decrypted = cipher.doFinal(encrypted);
+		} catch (GeneralSecurityException e) {
 			e.printStackTrace();
 		}
+		return decrypted;
+	}
 
-		byte[] decrypted = null;
+	/**
+	 * Encrypt a clear text in the authenticated mode.
+	 * 
+	 * @param seed
+	 *            The password given by the consumer to derive the keys.
+	 * 
+	 * @param cleartext
+	 *            The string to encrypt.
+	 * 
+	 * @return The IV, the encrypted text and its MAC, in hex format.
+	 * 
+	 * @throws GeneralSecurityException
+	 *             if the encrypting go wrong.
+	 */
+	public static String encryptAuthenticated(String seed, String cleartext)
+			throws GeneralSecurityException {
+
+		SecretKeySpec[] keys = getAuthenticatedKeys(seed);
+
+		byte[] iv = new byte[IV_SIZE];
+		RANDOM.nextBytes(iv);
+
+		Cipher cipher = AUTHENTICATED_CIPHER.get();
+		cipher.init(Cipher.ENCRYPT_MODE, keys[0], new IvParameterSpec(iv));
+		byte[] encrypted = cipher.doFinal(cleartext.getBytes());
+
+		byte[] sealed = new byte[IV_SIZE + encrypted.length + MAC_SIZE];
+		System.arraycopy(iv, 0, sealed, 0, IV_SIZE);
+		System.arraycopy(encrypted, 0, sealed, IV_SIZE, encrypted.length);
+		System.arraycopy(sign(keys[1], sealed, IV_SIZE + encrypted.length), 0,
+				sealed, IV_SIZE + encrypted.length, MAC_SIZE);
+		return toHex(sealed);
+	}
+
+	/**
+	 * Decrypt a text encrypted in the authenticated mode, after checking its
+	 * MAC.
+	 * 
+	 * @param seed
+	 *            The password given by the consumer to derive the keys.
+	 * 
+	 * @param encrypted
+	 *            The IV, the encrypted text and its MAC, in hex format.
+	 * 
+	 * @return The decrypted clear text.
+	 * 
+	 * @throws GeneralSecurityException
+	 *             if the text has been modified or was not encrypted with
+	 *             this password.
+	 */
+	public static String decryptAuthenticated(String seed, String encrypted)
+			throws GeneralSecurityException {
+
+		SecretKeySpec[] keys = getAuthenticatedKeys(seed);
+
+		byte[] sealed = toByte(encrypted);
+		int length = sealed.length - IV_SIZE - MAC_SIZE;
+		if (length <= 0)
+			throw new GeneralSecurityException("text too short");
+
+		byte[] mac = Arrays.copyOfRange(sealed, IV_SIZE + length,
+				sealed.length);
+		if (!MessageDigest.isEqual(mac, sign(keys[1], sealed, IV_SIZE + length)))
+			throw new GeneralSecurityException("invalid MAC");
+
+		Cipher cipher = AUTHENTICATED_CIPHER.get();
+		cipher.init(Cipher.DECRYPT_MODE, keys[0], new IvParameterSpec(sealed,
+				0, IV_SIZE));
+		return new String(cipher.doFinal(sealed, IV_SIZE, length));
+	}
+
+	/**
+	 * Get the keys of the authenticated mode, derived with PBKDF2 from the
+	 * password given by the consumer.
+	 * 
+	 * @return the key of the cipher, then the key of the MAC
+	 */
+	private static SecretKeySpec[] getAuthenticatedKeys(String seed)
+			throws GeneralSecurityException {
+
+		SecretKeySpec[] keys = AUTHENTICATED_KEYS.getIfPresent(seed);
+		if (keys != null)
+			return keys;
+
+		PBEKeySpec spec = new PBEKeySpec(seed.toCharArray(), KDF_SALT,
+				KDF_ITERATIONS, 2 * KEY_SIZE * 8);
+		byte[] derived = SecretKeyFactory.getInstance(KDF_ALGORITHM)
+				.generateSecret(spec).getEncoded();
+		spec.clearPassword();
+
+		keys = new SecretKeySpec[] {
+				new SecretKeySpec(derived, 0, KEY_SIZE, CIPHER_ALGORITHM),
+				new SecretKeySpec(derived, KEY_SIZE, KEY_SIZE, MAC_ALGORITHM) };
+		AUTHENTICATED_KEYS.put(seed, keys);
+		return keys;
+	}
+
+	private static byte[] sign(SecretKeySpec key, byte[] data, int length)
+			throws GeneralSecurityException {
+
+		Mac mac = MAC.get();
+		mac.init(key);
+		mac.update(data, 0, length);
+		return mac.doFinal();
+	}
+
+	private static Cipher newCipher(String transformation) {
 
 		try {
-			decrypted = cipher.doFinal(encrypted);
-		} catch (IllegalBlockSizeException e) {
-			e.printStackTrace();
-		} catch (BadPaddingException e) {
-			e.printStackTrace();
+			return Cipher.getInstance(transformation);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
 		}
-		return decrypted;
 	}
 
 	public static String toHex(String txt) {
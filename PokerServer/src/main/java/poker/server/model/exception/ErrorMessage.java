@@ -41,7 +41,10 @@ public enum ErrorMessage {
 			23, "Invalid signature"), UNKNOWN_ACCESS_TOKEN(24,
 			"The access token is not valid"), INCOMPATIBLE_ACCESS_TOKEN_CONSUMER(
 			25, "Incompatible access token and consumer key"), UNKNOWN_GAME_TYPE(
-			26, "Unknown game type");
+			26, "Unknown game type"), TABLE_NOT_AVAILABLE(27,
+			"The table is not available, try again"), EXPIRED_SIGNATURE(28,
+			"The signature has expired or was already used"), TOO_MANY_SIGNATURES(
+			29, "Too many signatures, try again later");
 
 	private int code;
 	private String message;
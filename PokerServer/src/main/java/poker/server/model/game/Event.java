@@ -1,13 +1,10 @@
 package poker.server.model.game;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import poker.server.model.exception.GameException;
-
 /**
- * Manages all the events related to the poker game.
- * 
+ * An event of a poker game: an action done by the game or by a player. Each
+ * event is numbered by the journal of its game, and has a type to be filtered
+ * by the clients.
+ *
  * @author <b> Rafik Ferroukh </b> <br>
  *         <b> Lucas Kerdoncuff </b> <br>
  *         <b> Xan Lucu </b> <br>
@@ -15,38 +12,51 @@ import poker.server.model.exception.GameException;
  *         <b> Balla Seck </b> <br>
  * <br>
  *         University Bordeaux 1, Software Engineering, Master 2 <br>
- * 
+ *
+ * @see EventJournal
  */
 public class Event {
 
-	private static final String NO_EVENTS_INSTANCE = "there isn't a created game !";
-	static List<String> allEvents;
+	public final static int GAME = 1;
+	public final static int ACTION = 2;
+	public final static int CARD = 3;
+	public final static int BLIND = 4;
+	public final static int POT = 5;
+
+	private final long sequence;
+	private final int type;
+	private final String message;
 
 	/**
-	 * It creates a new list which will contain all the events.
+	 * Constructor with parameters.
+	 *
+	 * @param seq
+	 *            the number of the event in the journal of its game
+	 * @param eventType
+	 *            the type of the event
+	 * @param eventMessage
+	 *            the description of the event
 	 */
-	protected static void buildEvents() {
-		allEvents = new ArrayList<String>();
+	Event(long seq, int eventType, String eventMessage) {
+		sequence = seq;
+		type = eventType;
+		message = eventMessage;
 	}
 
-	/**
-	 * It adds an event in the list.
-	 * 
-	 * @param event an event is an action done by the game or the player
-	 */
-	public static void addEvent(String event) {
-		if (allEvents == null)
-			throw new GameException(NO_EVENTS_INSTANCE);
-		allEvents.add(event);
+	public long getSequence() {
+		return sequence;
 	}
 
-	/**
-	 * It returns the list of events for a game.
-	 * 
-	 * @return a list of events
-	 * @see List
-	 */
-	public static List<String> getEvents() {
-		return allEvents;
+	public int getType() {
+		return type;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return message;
 	}
 }
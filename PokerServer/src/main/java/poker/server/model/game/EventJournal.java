@@ -0,0 +1,133 @@
+package poker.server.model.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import poker.server.model.exception.GameException;
+
+/**
+ * The journal of the events of one game. It keeps the last events in a ring
+ * of fixed size, numbered from 1. There is only one writer, the thread playing
+ * the game, and the readers never lock: an event is published when the last
+ * sequence number is updated, and a reader which has been lapped by the
+ * writer only misses the overwritten events.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Event
+ * @see Game
+ */
+public class EventJournal {
+
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private static final String NO_MESSAGE = "an event must have a message !";
+
+	private final Event[] events;
+	private volatile long lastSequence;
+
+	/**
+	 * Default constructor, keeps the DEFAULT_CAPACITY last events.
+	 */
+	public EventJournal() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 *
+	 * @param capacity
+	 *            the number of events kept by the journal
+	 */
+	public EventJournal(int capacity) {
+		events = new Event[capacity];
+		lastSequence = 0;
+	}
+
+	/**
+	 * Add an event at the end of the journal.
+	 *
+	 * @param type
+	 *            the type of the event
+	 * @param message
+	 *            the description of the event
+	 * @return the sequence number of the event
+	 * @exception GameException
+	 *                if the message is null
+	 */
+	public long add(int type, String message) {
+
+		if (message == null)
+			throw new GameException(NO_MESSAGE);
+
+		long sequence = lastSequence + 1;
+		events[index(sequence)] = new Event(sequence, type, message);
+		lastSequence = sequence;
+		return sequence;
+	}
+
+	/**
+	 *
+	 * @return the sequence number of the last event, 0 if there is none
+	 */
+	public long getLastSequence() {
+		return lastSequence;
+	}
+
+	/**
+	 *
+	 * @return the last event, null if there is none
+	 */
+	public Event getLast() {
+
+		long sequence = lastSequence;
+		if (sequence == 0)
+			return null;
+		return events[index(sequence)];
+	}
+
+	/**
+	 * Return the events following a given one, the oldest first. The events
+	 * which are not kept anymore are skipped.
+	 *
+	 * @param sequence
+	 *            the sequence number of the last event known by the reader
+	 * @return the list of the following events
+	 */
+	public List<Event> getEventsSince(long sequence) {
+
+		long last = lastSequence;
+		long first = Math.max(sequence + 1, last - events.length + 1);
+
+		List<Event> result = new ArrayList<Event>((int) Math.max(0, last
+				- first + 1));
+
+		for (long seq = first; seq <= last; ++seq) {
+			Event event = events[index(seq)];
+			if (event != null && event.getSequence() == seq)
+				result.add(event);
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the messages of all the events kept, the oldest first
+	 */
+	public List<String> getMessages() {
+
+		List<String> messages = new ArrayList<String>();
+		for (Event event : getEventsSince(0))
+			messages.add(event.getMessage());
+		return messages;
+	}
+
+	private int index(long sequence) {
+		return (int) (sequence % events.length);
+	}
+}
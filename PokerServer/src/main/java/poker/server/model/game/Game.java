@@ -1,5 +1,10 @@
 package poker.server.model.game;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -9,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import javax.persistence.Access;
+import javax.persistence.AccessType;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -17,17 +24,20 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
+import javax.persistence.Transient;
 
 import org.hibernate.annotations.IndexColumn;
 
 import poker.server.model.exception.ErrorMessage;
 import poker.server.model.exception.GameException;
 import poker.server.model.game.card.Card;
+import poker.server.model.game.card.Cards;
 import poker.server.model.game.card.Deck;
 import poker.server.model.game.parameters.GameType;
 import poker.server.model.game.parameters.SitAndGo;
 import poker.server.model.player.CompareHands;
 import poker.server.model.player.Hand;
+import poker.server.model.player.HandEvaluator;
 import poker.server.model.player.Player;
 
 /**
@@ -46,6 +56,8 @@ import poker.server.model.player.Player;
  * @see GameType
  */
 @Entity
+@org.hibernate.annotations.Entity(dynamicUpdate = true)
+@Access(AccessType.FIELD)
 public class Game implements Serializable {
 
 	static final long serialVersionUID = 2687924657560495636L;
@@ -68,18 +80,16 @@ public class Game implements Serializable {
 	@Id
 	String name; // public at this time for testing service...
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "game_Id")
 	@IndexColumn(name = "playerIndex")
 	List<Player> players;
 
-	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "deck")
 	Deck deck;
 
-	transient Deck originalDeck = new Deck();
-
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "game_Id")
 	@IndexColumn(name = "playerRankIndex")
 	List<Player> playersRank;
@@ -88,16 +98,25 @@ public class Game implements Serializable {
 	@JoinColumn(name = "gameType")
 	GameType gameType;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "game_Id")
-	@IndexColumn(name = "flipCardIndex")
+	// stored as the codes of the cards, see getFlippedCardCodes. The order
+	// is kept for the clients, the set of the same cards for the showdown
+	@Transient
 	List<Card> flippedCards;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@Transient
+	long board;
+
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "game_Id")
 	@IndexColumn(name = "potIndex")
 	List<Pot> splitPots;
 
+	transient EventJournal events = new EventJournal();
+
+	// one bit per seat whose player can still act, see nextPlayer
+	transient long activeSeats;
+	transient boolean activeSeatsKnown;
+
 	private int currentPlayerInt;
 	private int dealerPlayerInt;
 	private int smallBlindPlayerInt;
@@ -122,6 +141,8 @@ public class Game implements Serializable {
 
 	private int lastPlayerToPlay;
 
+	private int handNumber;
+
 	/**
 	 * Default constructor of Game, takes a SitAndGo parameters.
 	 */
@@ -159,15 +180,16 @@ public class Game implements Serializable {
 		currentRound = 0;
 		splitPots = new ArrayList<Pot>();
 		gameLevel = 0;
-		deck = originalDeck;
+		handNumber = 0;
+		deck = new Deck();
 		flippedCards = new ArrayList<Card>();
+		board = Cards.EMPTY;
 		players = new ArrayList<Player>();
 		playersRank = new ArrayList<Player>();
 		smallBlind = gameType.getSmallBlind();
 		bigBlind = gameType.getBigBlind();
 		fixPrizePool();
 		status = WAITING;
-		Event.buildEvents();
 	}
 
 	/**
@@ -185,8 +207,9 @@ public class Game implements Serializable {
 		++gameLevel;
 		status = STARTED;
 		gameType.decrement();
-		Event.addEvent("START GAME");
+		addEvent(Event.GAME, "START GAME");
 		dealCards();
+		activeSeatsKnown = false;
 	}
 
 	/**
@@ -245,14 +268,17 @@ public class Game implements Serializable {
 
 	/**
 	 * Initialize the bet, the pot and update the current tokens for the players
-	 * concerned (smallBlind and the bigBlind).
+	 * concerned (smallBlind and the bigBlind), at the start of each hand. The
+	 * blinds are the first bets of their players; a player short of his blind
+	 * posts his whole stack and is all in.
+	 * 
+	 * @see Player#postBlind(int)
 	 */
 	private void setInitBetGame() {
 
 		currentBet = bigBlind;
-		currentPot = smallBlind + bigBlind;
-		players.get(smallBlindPlayerInt).updateToken(smallBlind);
-		players.get(bigBlindPlayerInt).updateToken(bigBlind);
+		currentPot = players.get(smallBlindPlayerInt).postBlind(smallBlind)
+				+ players.get(bigBlindPlayerInt).postBlind(bigBlind);
 	}
 
 	/**
@@ -272,7 +298,9 @@ public class Game implements Serializable {
 	 * At the begin of game, give for each player two cards.
 	 */
 	protected void dealCards() {
+		++handNumber;
 		deck.shuffle();
+		addEvent(Event.CARD, "THE DECK IS SHUFFLED");
 		Card card;
 		for (int i = 0; i < 2; i++) {
 
@@ -281,7 +309,7 @@ public class Game implements Serializable {
 				player.addCard(card);
 			}
 		}
-		Event.addEvent("DEAL CARDS FOR PLAYERS");
+		addEvent(Event.CARD, "DEAL CARDS FOR PLAYERS");
 	}
 
 	/**
@@ -292,14 +320,14 @@ public class Game implements Serializable {
 
 		String eventFlop = "FLOP : ";
 		Card card;
-		deck.burnCard();
+		burnCard();
 
 		for (int i = 0; i < 3; i++) {
 			card = flipCard();
 			eventFlop += card.getValue() + " " + card.getSuit() + " , ";
 		}
 		updateRoundPotAndBets();
-		Event.addEvent(eventFlop);
+		addEvent(Event.CARD, eventFlop);
 	}
 
 	/**
@@ -308,10 +336,11 @@ public class Game implements Serializable {
 	 */
 	protected void tournant() {
 
-		deck.burnCard();
+		burnCard();
 		Card card = flipCard();
 		updateRoundPotAndBets();
-		Event.addEvent("TOURNANT : " + card.getValue() + " " + card.getSuit());
+		addEvent(Event.CARD,
+				"TOURNANT : " + card.getValue() + " " + card.getSuit());
 	}
 
 	/**
@@ -321,10 +350,20 @@ public class Game implements Serializable {
 	 */
 	protected void river() {
 
-		deck.burnCard();
+		burnCard();
 		Card card = flipCard();
 		updateRoundPotAndBets();
-		Event.addEvent("RIVER : " + card.getValue() + " " + card.getSuit());
+		addEvent(Event.CARD,
+				"RIVER : " + card.getValue() + " " + card.getSuit());
+	}
+
+	/**
+	 * Burn a card before flipping the cards of a round.
+	 */
+	private void burnCard() {
+		Card card = deck.burnCard();
+		addEvent(Event.CARD, "THE BURNED CARD : " + card.getValue() + " , "
+				+ card.getSuit());
 	}
 
 	/**
@@ -336,6 +375,7 @@ public class Game implements Serializable {
 	private Card flipCard() {
 		Card card = deck.getNextCard();
 		flippedCards.add(card);
+		board |= Cards.bit(card.getCode());
 		return card;
 	}
 
@@ -395,21 +435,19 @@ public class Game implements Serializable {
 	public void handlePot(List<Player> currentPlayers) {
 
 		if (currentRound == RIVER) {
+			// a pot for each total bet of the players left, the players of a
+			// pot being all those who bet its value at least, whatever their
+			// order at the table
+			splitPots = new ArrayList<Pot>();
 			for (Player player : currentPlayers) {
-				boolean potPlayer = false;
+				if (checkPot(player) == null)
+					splitPots.add(new Pot(player.getTotalBet(), player));
+			}
 
+			for (Player player : currentPlayers) {
 				for (Pot pot : splitPots) {
-					if (pot.getValue() < player.getTotalBet())
+					if (pot.getValue() <= player.getTotalBet())
 						pot.addPlayer(player);
-					else if (pot.getValue() == player.getTotalBet()) {
-						pot.addPlayer(player);
-						potPlayer = true;
-					}
-				}
-
-				if (potPlayer == false) {
-					Pot tempPot = new Pot(player.getTotalBet(), player);
-					splitPots.add(tempPot);
 				}
 			}
 
@@ -454,23 +492,16 @@ public class Game implements Serializable {
 		}
 
 		if (currentRound == RIVER) {
-			int bigPot = 0;
-			for (Pot pot : splitPots) {
-				if (pot.getValue() > bigPot)
-					bigPot = pot.getValue();
-			}
-
+			// the bet of a folded player goes to the smallest pot covering it,
+			// or else to the biggest pot, so that no token is lost
 			for (Player player : players) {
-				if (player.isfolded()) {
-					Pot tempPot = new Pot();
-					int tempPotDiff = 0;
-					int potDiff = bigPot;
+				if (player.isfolded() && !splitPots.isEmpty()) {
+					Pot tempPot = splitPots.get(splitPots.size() - 1);
 
 					for (Pot pot : splitPots) {
-						tempPotDiff = pot.getValue() - player.getTotalBet();
-						if (tempPotDiff > 0 && tempPotDiff < potDiff) {
+						if (pot.getValue() >= player.getTotalBet()) {
 							tempPot = pot;
-							potDiff = tempPotDiff;
+							break;
 						}
 					}
 
@@ -499,7 +530,10 @@ public class Game implements Serializable {
 
 	/**
 	 * This is a method which call several methods to do before each preflop if
-	 * the game is not ended.
+	 * the game is not ended. The invariants of the game are then checked, if
+	 * the hand is sampled.
+	 * 
+	 * @see GameInvariants
 	 */
 	private void nextRoundTasks() {
 
@@ -509,6 +543,7 @@ public class Game implements Serializable {
 			playersRank.add(0, players.get(0));
 			setPrizeForPlayers();
 			status = ENDED;
+			GameInvariants.sample(this);
 			return;
 		}
 
@@ -518,14 +553,21 @@ public class Game implements Serializable {
 		nextBigBlindPlayer();
 		updateRoundPotAndBets();
 		totalPot = 0;
-		deck = originalDeck;
-		flippedCards = null;
+		splitPots = new ArrayList<Pot>();
+		setInitBetGame();
 		flippedCards = new ArrayList<Card>();
+		board = Cards.EMPTY;
 		initPlayersHands();
 		dealCards();
 		lastPlayerToPlay = bigBlindPlayerInt;
 		currentPlayerInt = (bigBlindPlayerInt + 1) % players.size();
 		currentRound = 0;
+
+		activeSeatsKnown = false;
+		if (!isActiveSeat(currentPlayerInt))
+			nextPlayer();
+
+		GameInvariants.sample(this);
 	}
 
 	/**
@@ -558,16 +600,21 @@ public class Game implements Serializable {
 	}
 
 	/**
-	 * After a showDown, set all players as regular and cancel their fold's
-	 * state
+	 * After a showDown, set all players as regular and cancel their fold's and
+	 * all in's states. The missing players keep their blinds but fold at once.
 	 */
 	protected void resetPlayers() {
 
 		for (Player p : players) {
 			p.setAsRegular();
-			p.unFold();
+			if (p.isMissing())
+				p.setAsFolded();
+			else
+				p.unFold();
+			p.setAllIn(false);
 			p.setTotalBet(0);
 		}
+		activeSeatsKnown = false;
 	}
 
 	/**
@@ -576,52 +623,46 @@ public class Game implements Serializable {
 	 */
 	private void nextDealerPlayer() {
 
-		if (dealerPlayerInt == players.size() - 1)
-			dealerPlayerInt = 0;
-		else
-			dealerPlayerInt = (dealerPlayerInt % players.size()) + 1;
+		dealerPlayerInt = (dealerPlayerInt + 1) % players.size();
 
 		lastPlayerToPlay = dealerPlayerInt;
 
 		Player dealerPlayer = players.get(this.dealerPlayerInt);
 		dealerPlayer.setAsDealer();
 
-		Event.addEvent("THE DEALER IS : " + dealerPlayer.getName());
+		addEvent(Event.GAME, "THE DEALER IS : " + dealerPlayer.getName());
 	}
 
 	/**
-	 * For each round, set the next bigBlind by incrementing the index. It will
-	 * be at the right position of the old bigBlind.
+	 * For each round, set the next bigBlind. It will be at the right position
+	 * of the smallBlind, so that the two blinds never fall on the same player
+	 * once players have left the table.
 	 */
 	private void nextBigBlindPlayer() {
 
-		if (bigBlindPlayerInt == players.size() - 1)
-			bigBlindPlayerInt = 0;
-		else
-			bigBlindPlayerInt = (bigBlindPlayerInt % players.size()) + 1;
+		bigBlindPlayerInt = (smallBlindPlayerInt + 1) % players.size();
 
 		Player bigBlindPlayer = players.get(bigBlindPlayerInt);
 		bigBlindPlayer.setAsBigBlind();
 
-		Event.addEvent("THE BIG BLIND IS : " + bigBlindPlayer.getName());
+		addEvent(Event.BLIND,
+				"THE BIG BLIND IS : " + bigBlindPlayer.getName());
 	}
 
 	/**
-	 * For each round, set the next smallBlind by incrementing the index. It
-	 * will be at the right position of the old smallBlind.
+	 * For each round, set the next smallBlind. It will be at the right
+	 * position of the dealer.
 	 */
 	private void nextSmallBlindPlayer() {
 
-		if (smallBlindPlayerInt == players.size() - 1)
-			smallBlindPlayerInt = 0;
-		else
-			smallBlindPlayerInt = (smallBlindPlayerInt % players.size()) + 1;
+		smallBlindPlayerInt = (dealerPlayerInt + 1) % players.size();
 
 		Player smallBlindPlayer = players.get(smallBlindPlayerInt);
 		smallBlindPlayer.setAsSmallBlind();
 		currentPlayerInt = smallBlindPlayerInt;
 
-		Event.addEvent("THE SMALL BLIND IS : " + smallBlindPlayer.getName());
+		addEvent(Event.BLIND,
+				"THE SMALL BLIND IS : " + smallBlindPlayer.getName());
 	}
 
 	/**
@@ -636,7 +677,7 @@ public class Game implements Serializable {
 		currentBet = 0;
 		currentPot = 0;
 
-		Event.addEvent("RESET PLAYERS BETS AND UPDATE POT OF THE GAME");
+		addEvent(Event.POT, "RESET PLAYERS BETS AND UPDATE POT OF THE GAME");
 	}
 
 	/**
@@ -687,7 +728,7 @@ public class Game implements Serializable {
 		smallBlind = smallBlind * blindMultFactor;
 		bigBlind = smallBlind * 2;
 
-		Event.addEvent("SMALL BLIND = " + smallBlind + " , BIG BLIND = "
+		addEvent(Event.BLIND, "SMALL BLIND = " + smallBlind + " , BIG BLIND = "
 				+ bigBlind);
 	}
 
@@ -699,7 +740,7 @@ public class Game implements Serializable {
 	 */
 	public void updateCurrentPot(int quantity) {
 		currentPot += quantity;
-		Event.addEvent("BETS = " + currentPot);
+		addEvent(Event.POT, "BETS = " + currentPot);
 	}
 
 	/**
@@ -711,7 +752,7 @@ public class Game implements Serializable {
 	 */
 	public void updateCurrentBet(int quantity) {
 		currentBet += quantity;
-		Event.addEvent("CURRENT BET = " + currentBet);
+		addEvent(Event.POT, "CURRENT BET = " + currentBet);
 	}
 
 	/**
@@ -747,6 +788,7 @@ public class Game implements Serializable {
 		players.add(player);
 		playersRank.add(player); // to...
 		player.setGame(this);
+		activeSeatsKnown = false;
 
 		if (players.size() == gameType.getPlayerNumber())
 			status = READY_TO_START;
@@ -762,35 +804,119 @@ public class Game implements Serializable {
 	 */
 	protected void remove(Player player) {
 		players.remove(player);
+		activeSeatsKnown = false;
 	}
 
 	/**
 	 * After a player action, it passed the turn to the right position of the
 	 * current player.
+	 * <p>
+	 * The seats of the players who can still act (not folded, not all in,
+	 * with tokens, and neither missing nor out of the game) are kept as the
+	 * bits of a ring, so the next player is found without looking at the
+	 * others. The seat of the current player is updated here, after his
+	 * action. The round ends when the turn would pass the last player to play.
+	 * A table has at most 64 seats.
 	 */
 	public void nextPlayer() {
 
-		do {
-			if (currentPlayerInt == lastPlayerToPlay) {
+		updateSeat(currentPlayerInt);
 
-				currentPlayerInt = smallBlindPlayerInt;
-				lastPlayerToPlay = dealerPlayerInt;
-				nextRound();
-				if (currentRound == SHOWDOWN)
-					break;
+		int seat = currentPlayerInt;
+		for (;;) {
 
-			} else {
-				if (currentPlayerInt == players.size() - 1)
-					currentPlayerInt = 0;
-				else
-					currentPlayerInt = (currentPlayerInt % players.size()) + 1;
+			int next = nextActiveSeat(seat);
 
+			if (next >= 0 && !isBetween(lastPlayerToPlay, seat, next)) {
+				currentPlayerInt = next;
+				return;
 			}
 
-		} while (players.get(currentPlayerInt).isfolded()
-				|| players.get(currentPlayerInt).isAllIn()
-				|| players.get(currentPlayerInt).getCurrentTokens() == 0);
+			currentPlayerInt = smallBlindPlayerInt;
+			lastPlayerToPlay = dealerPlayerInt;
+			nextRound();
+			if (currentRound == SHOWDOWN || isActiveSeat(currentPlayerInt))
+				return;
 
+			seat = currentPlayerInt;
+		}
+	}
+
+	/**
+	 * Update the seat of a player in the ring of the seats who can act, after
+	 * a change of his state outside of his turn.
+	 * 
+	 * @param player
+	 *            a player of the game
+	 */
+	public void updateSeat(Player player) {
+
+		int seat = players.indexOf(player);
+		if (seat < 0)
+			activeSeatsKnown = false;
+		else
+			updateSeat(seat);
+	}
+
+	private void updateSeat(int seat) {
+
+		if (!activeSeatsKnown || seat >= players.size())
+			return;
+
+		if (canAct(players.get(seat)))
+			activeSeats |= 1L << seat;
+		else
+			activeSeats &= ~(1L << seat);
+	}
+
+	private boolean isActiveSeat(int seat) {
+		return (getActiveSeats() & (1L << seat)) != 0;
+	}
+
+	/**
+	 * 
+	 * @return the first seat after the given one whose player can act, the
+	 *         given seat itself if it is the only one, -1 if there is none
+	 */
+	private int nextActiveSeat(int seat) {
+
+		long seats = getActiveSeats();
+		if (seats == 0)
+			return -1;
+
+		long after = seat + 1 < Long.SIZE ? seats & (-1L << (seat + 1)) : 0;
+		return Long.numberOfTrailingZeros(after != 0 ? after : seats);
+	}
+
+	/**
+	 * 
+	 * @return true if the seat is passed when the turn moves from the seat
+	 *         {@code from} to the seat {@code to}, {@code from} included
+	 */
+	private static boolean isBetween(int seat, int from, int to) {
+
+		if (from < to)
+			return from <= seat && seat < to;
+		return seat >= from || seat < to;
+	}
+
+	private long getActiveSeats() {
+
+		if (!activeSeatsKnown) {
+			activeSeats = 0;
+			for (int seat = 0; seat < players.size(); ++seat) {
+				if (canAct(players.get(seat)))
+					activeSeats |= 1L << seat;
+			}
+			activeSeatsKnown = true;
+		}
+		return activeSeats;
+	}
+
+	private static boolean canAct(Player player) {
+		return !player.isfolded() && !player.isAllIn()
+				&& player.getCurrentTokens() > 0 && !player.isMissing()
+				&& !player.isOutGame();
 	}
 
 	/**
@@ -834,88 +960,33 @@ public class Game implements Serializable {
 		if (players.isEmpty() || players.size() == 1)
 			throw new GameException(ErrorMessage.NO_PLAYER_IN_GAME);
 
-		Map<Player, Integer> playersBestHands = new HashMap<Player, Integer>();
-		int best = 0;
+		Map<Player, Integer> playersStrengths = new HashMap<Player, Integer>();
 
 		for (Player player : players) {
 
-			int bestHand = 0;
-			int result = 0;
-
 			if (!player.isfolded()) {
 
-				playersBestHands.put(player, 0);
-
-				for (int i = 0; i != 3; ++i) {
-
-					for (int j = i + 1; j + 1 != flippedCards.size(); ++j) {
-
-						for (int k = j + 1; k != flippedCards.size(); ++k) {
-
-							result = evaluate(player, i, j, k);
-
-							if (result > bestHand) {
-
-								bestHand = result;
-
-								Hand hand = new Hand();
-								hand.addCards(player.getCurrentHand()
-										.getCards());
-								hand.addCard(flippedCards.get(i));
-								hand.addCard(flippedCards.get(j));
-								hand.addCard(flippedCards.get(k));
-								player.setBestHand(hand);
-								player.setValueBestHand(bestHand);
+				Hand hand = player.getCurrentHand();
+				int strength = HandEvaluator.evaluate(hand.getCardSet(), board);
+				int bestHand = HandEvaluator.getCategory(strength);
 
-								playersBestHands.put(player, result);
-							}
+				player.setBestHand(HandEvaluator.getBestHand(strength,
+						hand.getCards(), flippedCards));
+				player.setValueBestHand(bestHand);
 
-							if (result > best)
-								best = result;
-						}
-					}
-				}
+				playersStrengths.put(player, strength);
 			}
 		}
 
-		Map<Player, Integer> ranking = new HashMap<Player, Integer>();
+		Map<Player, Integer> ranking = CompareHands
+				.getRankingByStrength(playersStrengths);
 
-		ranking = CompareHands.getRanking(playersBestHands);
-
-		rewardTheWinners(splitPots, ranking);
+		// the next hand starts with no pot
+		List<Pot> pots = splitPots;
+		rewardTheWinners(pots, ranking);
 		nextRoundTasks();
 
-		return splitPots;
-	}
-
-	/**
-	 * At the end of the river, evaluate each combination of the cards and
-	 * return the value of the hand.
-	 * 
-	 * @param player
-	 *            a player
-	 * @param i
-	 *            represents the value of a card
-	 * @param j
-	 *            represents the value of a card
-	 * @param k
-	 *            represents the value of a card
-	 * @return int which reprents the value of the hand.
-	 * @see int
-	 */
-	private int evaluate(Player player, int i, int j, int k) {
-
-		player.addCard(flippedCards.get(i));
-		player.addCard(flippedCards.get(j));
-		player.addCard(flippedCards.get(k));
-
-		int result = player.evaluateHand();
-
-		player.removeCard(flippedCards.get(i));
-		player.removeCard(flippedCards.get(j));
-		player.removeCard(flippedCards.get(k));
-
-		return result;
+		return pots;
 	}
 
 	/**
@@ -947,9 +1018,18 @@ public class Game implements Serializable {
 			
 			valueReward = splitPots.get(i).getValueReward()
 					/ playersToReward.size();
+			// the odd tokens of a split pot go to the first winners
+			int oddTokens = splitPots.get(i).getValueReward()
+					% playersToReward.size();
 			
 			for (Player player : playersToReward) {
-				player.reward(valueReward);
+				int reward = valueReward;
+				if (oddTokens > 0) {
+					++reward;
+					--oddTokens;
+				}
+				player.reward(reward);
+				addEvent(Event.POT, player.getName() + " WINS " + reward);
 			}
 			
 			splitPots.get(i).setPlayersWinners(playersToReward);
@@ -967,6 +1047,61 @@ public class Game implements Serializable {
 			lastPlayerToPlay = (currentPlayerInt % players.size()) - 1;
 	}
 
+	/**
+	 * 
+	 * @return the number of hands dealt since the start of the game
+	 */
+	public int getHandNumber() {
+		return handNumber;
+	}
+
+	/**
+	 * Copy the game with its players, their hands, its deck, its pots and its
+	 * type, so that the copy can be written by an other thread while the game
+	 * is played. The journal of the events isn't copied.
+	 * 
+	 * @return a deep copy of the game
+	 */
+	public Game copy() {
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream out = new ObjectOutputStream(bytes);
+			out.writeObject(this);
+			out.close();
+
+			ObjectInputStream in = new ObjectInputStream(
+					new ByteArrayInputStream(bytes.toByteArray()));
+			return (Game) in.readObject();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Add an event in the journal of the game.
+	 * 
+	 * @param type
+	 *            the type of the event
+	 * @param message
+	 *            an event is an action done by the game or the player
+	 * @return the sequence number of the event
+	 * @see Event
+	 */
+	public long addEvent(int type, String message) {
+		return events.add(type, message);
+	}
+
+	/**
+	 * 
+	 * @return the journal of the events of the game
+	 */
+	public EventJournal getEvents() {
+		return events;
+	}
+
 	/**
 	 * 
 	 * @return the deck of the game
@@ -1032,6 +1167,35 @@ public class Game implements Serializable {
 		return flippedCards;
 	}
 
+	/**
+	 * 
+	 * @return the set of the cards already flipped
+	 * @see Cards
+	 */
+	public long getBoard() {
+		return board;
+	}
+
+	/**
+	 * 
+	 * @return the codes of the cards already flipped in their order, the
+	 *         column storing the flipped cards
+	 */
+	@Access(AccessType.PROPERTY)
+	protected byte[] getFlippedCardCodes() {
+		return Cards.encode(flippedCards);
+	}
+
+	/**
+	 * 
+	 * @param codes
+	 *            the codes of the cards already flipped in their order
+	 */
+	protected void setFlippedCardCodes(byte[] codes) {
+		flippedCards = Cards.decode(codes);
+		board = Cards.mask(flippedCards);
+	}
+
 	/**
 	 * 
 	 * @return the level of the game
@@ -1081,6 +1245,14 @@ public class Game implements Serializable {
 		return smallBlindPlayerInt;
 	}
 
+	/**
+	 * 
+	 * @return the pots of the hand, split by the bets of the players all in
+	 */
+	public List<Pot> getSplitPots() {
+		return splitPots;
+	}
+
 	/**
 	 * 
 	 * @return the total pot
@@ -1236,6 +1408,7 @@ public class Game implements Serializable {
 	 */
 	protected void setFlipedCards(List<Card> cards) {
 		flippedCards = cards;
+		board = Cards.mask(cards);
 	}
 
 	/**
@@ -1321,6 +1494,14 @@ public class Game implements Serializable {
 		return "false";
 	}
 
+	/**
+	 * 
+	 * @return the status of the game, from WAITING to ENDED
+	 */
+	public int getStatus() {
+		return status;
+	}
+
 	/**
 	 * Verify if a game is ended
 	 */
@@ -1356,6 +1537,21 @@ public class Game implements Serializable {
 		return status == ENDED;
 	}
 
+	/**
+	 * 
+	 * @param playerName
+	 *            the name of a player
+	 * @return the player of the game with this name, null if there is none
+	 */
+	public Player getPlayer(String playerName) {
+
+		for (Player player : players) {
+			if (player.getName().equals(playerName))
+				return player;
+		}
+		return null;
+	}
+
 	/**
 	 * Removes a player from the game
 	 * 
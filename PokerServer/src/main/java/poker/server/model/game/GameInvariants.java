@@ -0,0 +1,210 @@
+package poker.server.model.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+import poker.server.model.game.card.Cards;
+import poker.server.model.game.card.Deck;
+import poker.server.model.player.Hand;
+import poker.server.model.player.Player;
+
+/**
+ * The invariants of a game, checked at the end of each hand:
+ * <ul>
+ * <li>the tokens of the players and the pots hold the chips given at the
+ * start, none appears or vanishes when the pots are split,</li>
+ * <li>no player has a negative number of tokens,</li>
+ * <li>the dealer, the blinds and the current player are seats of the game,
+ * </li>
+ * <li>no card is dealt twice, nor dealt while still in the deck.</li>
+ * </ul>
+ * A check only reads the game, looping once on its seats and its cards, so
+ * it can be left on: the hands checked are sampled by their number, one in
+ * {@link #getSamplingRate()}, and the end of each game is always checked.
+ * The checks and the violations are counted, and each violation is logged.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Game
+ */
+public final class GameInvariants {
+
+	private static final Logger LOGGER = Logger.getLogger(GameInvariants.class
+			.getName());
+
+	/**
+	 * The invariants checked.
+	 */
+	public enum Violation {
+		CHIPS_NOT_CONSERVED, NEGATIVE_TOKENS, INVALID_SEAT, CARD_DEALT_TWICE
+	}
+
+	// system property giving the sampling rate, 0 turns the checks off
+	public static final String SAMPLING_PROPERTY = "poker.server.invariants.sampling";
+	public static final int DEFAULT_SAMPLING_RATE = 16;
+
+	private static volatile int samplingRate = Integer.getInteger(
+			SAMPLING_PROPERTY, DEFAULT_SAMPLING_RATE);
+
+	private static final AtomicLong checks = new AtomicLong();
+	private static final AtomicLongArray violations = new AtomicLongArray(
+			Violation.values().length);
+
+	private GameInvariants() {
+	}
+
+	/**
+	 * Check a game at the end of a hand, if the hand is sampled or the game
+	 * is ended.
+	 *
+	 * @param game
+	 *            a started or ended game, between two hands
+	 */
+	public static void sample(Game game) {
+
+		int rate = samplingRate;
+		if (rate > 0
+				&& (game.isEnded() || game.getHandNumber() % rate == 0))
+			check(game);
+	}
+
+	/**
+	 * Check a game between two hands. The violations found are counted and
+	 * logged.
+	 *
+	 * @param game
+	 *            a started or ended game, between two hands
+	 * @return the invariants violated by the game, empty if none
+	 */
+	public static List<Violation> check(Game game) {
+
+		checks.incrementAndGet();
+		List<Violation> found = new ArrayList<Violation>(0);
+
+		int chips = game.getGameType().getPlayerNumber()
+				* game.getGameType().getTokens();
+
+		// the pots of the last hand are kept once the game is ended
+		int counted = game.isEnded() ? 0 : game.getCurrentPot()
+				+ game.getTotalPot();
+		boolean negative = false;
+
+		for (Player player : game.getPlayers()) {
+			counted += player.getCurrentTokens();
+			negative |= player.getCurrentTokens() < 0;
+		}
+
+		if (counted != chips)
+			violated(game, found, Violation.CHIPS_NOT_CONSERVED, counted
+					+ " chips instead of " + chips);
+		if (negative)
+			violated(game, found, Violation.NEGATIVE_TOKENS,
+					"a player has negative tokens");
+
+		// an ended game keeps the seats and the cards of its last hand
+		if (game.isEnded())
+			return found;
+
+		int seats = game.getPlayers().size();
+		if (!isSeat(game.getDealerInt(), seats)
+				|| !isSeat(game.getSmallBlindPlayerInt(), seats)
+				|| !isSeat(game.getBigBlindPlayerInt(), seats)
+				|| !isSeat(game.getCurrentPlayerInt(), seats))
+			violated(game, found, Violation.INVALID_SEAT, "dealer "
+					+ game.getDealerInt() + ", small blind "
+					+ game.getSmallBlindPlayerInt() + ", big blind "
+					+ game.getBigBlindPlayerInt() + ", current player "
+					+ game.getCurrentPlayerInt() + " of " + seats + " seats");
+
+		if (!areCardsDealtOnce(game))
+			violated(game, found, Violation.CARD_DEALT_TWICE,
+					"a card is dealt twice");
+
+		return found;
+	}
+
+	/**
+	 *
+	 * @return one hand in this number is checked, none if 0
+	 */
+	public static int getSamplingRate() {
+		return samplingRate;
+	}
+
+	/**
+	 *
+	 * @param rate
+	 *            one hand in this number is checked, none if 0
+	 */
+	public static void setSamplingRate(int rate) {
+		samplingRate = rate;
+	}
+
+	/**
+	 *
+	 * @return the number of checks since the start of the server
+	 */
+	public static long getChecks() {
+		return checks.get();
+	}
+
+	/**
+	 *
+	 * @param violation
+	 *            an invariant
+	 * @return the number of checks which have found it violated, since the
+	 *         start of the server
+	 */
+	public static long getViolations(Violation violation) {
+		return violations.get(violation.ordinal());
+	}
+
+	private static boolean isSeat(int seat, int seats) {
+		return seat >= 0 && seat < seats;
+	}
+
+	/**
+	 * The cards of the players, the flipped cards and the cards left in the
+	 * deck must be disjoint sets.
+	 */
+	private static boolean areCardsDealtOnce(Game game) {
+
+		long dealt = game.getBoard();
+		if (Cards.count(dealt) != game.getFlipedCards().size())
+			return false;
+
+		for (Player player : game.getPlayers()) {
+
+			Hand hand = player.getCurrentHand();
+			if (hand == null)
+				continue;
+
+			long cards = hand.getCardSet();
+			if (Cards.count(cards) != hand.getSize() || (dealt & cards) != 0)
+				return false;
+			dealt |= cards;
+		}
+
+		Deck left = game.getDeck();
+		long deck = left.getCardSet();
+		return Cards.count(deck) == left.getSize() && (dealt & deck) == 0;
+	}
+
+	private static void violated(Game game, List<Violation> found,
+			Violation violation, String message) {
+
+		violations.incrementAndGet(violation.ordinal());
+		found.add(violation);
+		LOGGER.warning(violation + " in game " + game.getName() + ", hand "
+				+ game.getHandNumber() + ": " + message);
+	}
+}
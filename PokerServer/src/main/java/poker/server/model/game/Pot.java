@@ -8,9 +8,11 @@ import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
+import javax.persistence.TableGenerator;
 
 import org.hibernate.annotations.IndexColumn;
 
@@ -36,12 +38,13 @@ public class Pot implements Serializable {
 	private static final long serialVersionUID = -3695715063363432008L;
 
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "potIds")
+	@TableGenerator(name = "potIds", allocationSize = 64)
 	int id;
 
 	int value;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "pot_Id")
 	@IndexColumn(name = "playerPotIndex")
 	List<Player> players;
@@ -154,4 +157,8 @@ public class Pot implements Serializable {
 	public int getId() {
 		return id;
 	}
+
+	public void setId(int iD) {
+		id = iD;
+	}
 }
@@ -1,14 +1,19 @@
 package poker.server.model.game;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 
 import poker.server.infrastructure.RepositoryGame;
+import poker.server.infrastructure.RepositoryGameType;
 import poker.server.infrastructure.RepositoryGenericJPA;
 import poker.server.model.game.parameters.GameType;
+import poker.server.model.player.Hand;
 
 /**
  * 
@@ -25,6 +30,64 @@ import poker.server.model.game.parameters.GameType;
 public class RepositoryGameJPA extends RepositoryGenericJPA<Game, String>
 		implements RepositoryGame {
 
+	// each query fetches one part of the game in the persistence context,
+	// joining all of them at once would multiply the rows of the lists
+	private static final String[] TABLE_FETCH_PLAN = {
+			"SELECT g FROM Game g LEFT JOIN FETCH g.players WHERE g.name = :name",
+			"SELECT p FROM Player p LEFT JOIN FETCH p.currentHand WHERE p.game.name = :name",
+			"SELECT g FROM Game g LEFT JOIN FETCH g.deck WHERE g.name = :name",
+			"SELECT g FROM Game g LEFT JOIN FETCH g.playersRank WHERE g.name = :name",
+			"SELECT g FROM Game g LEFT JOIN FETCH g.splitPots WHERE g.name = :name",
+			"SELECT pot FROM Game g JOIN g.splitPots pot LEFT JOIN FETCH pot.players WHERE g.name = :name" };
+
+	@EJB
+	private RepositoryGameType repositoryGameType;
+
+	@Override
+	public Game save(Game game) {
+
+		// the type of a new game is loaded by an other transaction, it is
+		// attached again before the cascade. Its count of games is written.
+		game.gameType = em.merge(game.gameType);
+		em.persist(game);
+		repositoryGameType.evict(game.gameType.getName());
+		return game;
+	}
+
+	@Override
+	public Game update(Game game) {
+
+		// the game of a table stays in memory, detached: merge writes a copy
+		// of it. The game written is read first by the queries of the table,
+		// so the merge finds its parts in the persistence context instead of
+		// reading them one by one, and the flush only writes the rows which
+		// have changed. The ids generated for the children created since the
+		// last write, the hands of the players and the pots, are given back
+		// to the game, or the next merge would insert them again.
+		Game written = loadTable(game.getName());
+		int writtenStatus = written == null ? 0 : written.getStatus();
+		Game managed = super.update(game);
+
+		// the count of games of the type is written when the game starts
+		if (writtenStatus != game.getStatus())
+			repositoryGameType.evict(game.getGameType().getName());
+
+		for (int i = 0; i < game.players.size(); ++i) {
+
+			Hand hand = game.players.get(i).getCurrentHand();
+			if (hand != null && hand.getId() == 0)
+				hand.setId(managed.players.get(i).getCurrentHand().getId());
+		}
+
+		for (int i = 0; i < game.splitPots.size(); ++i) {
+
+			Pot pot = game.splitPots.get(i);
+			if (pot.id == 0)
+				pot.id = managed.splitPots.get(i).id;
+		}
+		return managed;
+	}
+
 	@Override
 	public Game currentGame() {
 
@@ -40,6 +103,27 @@ public class RepositoryGameJPA extends RepositoryGenericJPA<Game, String>
 		}
 	}
 
+	@Override
+	public Game loadTable(String tableName) {
+
+		Game game = null;
+
+		for (String fetch : TABLE_FETCH_PLAN) {
+
+			Query q = em.createQuery(fetch);
+			q.setParameter("name", tableName);
+
+			List<?> result = q.getResultList();
+
+			if (game == null) {
+				if (result.isEmpty())
+					return null;
+				game = (Game) result.get(0);
+			}
+		}
+		return game;
+	}
+
 	@Override
 	public boolean exist(GameType param) {
 
@@ -78,24 +162,14 @@ public class RepositoryGameJPA extends RepositoryGenericJPA<Game, String>
 		return games;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
-	public List<Game> getReadyOrNotGames() {
+	public List<Game> getReadyOrNotGames(String after, int size) {
 
-		List<Game> games = null;
-
-		Query q = em
-				.createQuery("SELECT g FROM Game g WHERE g.status = :status OR g.status = :status2");
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put("status", Game.WAITING);
+		parameters.put("status2", Game.READY_TO_START);
 
-		q.setParameter("status", Game.WAITING);
-		q.setParameter("status2", Game.READY_TO_START);
-
-		try {
-			games = (List<Game>) q.getResultList();
-		} catch (NoResultException e) {
-			return null;
-		}
-
-		return games;
+		return loadPage("e.status = :status OR e.status = :status2",
+				parameters, after, size);
 	}
 }
@@ -2,14 +2,13 @@ package poker.server.model.game.card;
 
 import java.io.Serializable;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-
 /**
  * Manages all the entities and actions related to the cards. A card is
  * representing by her value and her suit.
+ * <p>
+ * The 52 cards never change, so they aren't stored in a table of their own:
+ * the deck, the hands and the flipped cards store the codes of their cards,
+ * and valueOf gives back the card of a code.
  * 
  * @author <b> Rafik Ferroukh </b> <br>
  *         <b> Lucas Kerdoncuff </b> <br>
@@ -20,25 +19,24 @@ import javax.persistence.Id;
  *         University Bordeaux 1, Software Engineering, Master 2 <br>
  * 
  */
-@Entity
 public class Card implements Serializable {
 
 	private static final long serialVersionUID = 4155297440794537119L;
 
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	int idDB;
+	// the card of each code
+	private static final Card[] CARDS = new Card[Cards.NUMBER_CARDS];
+
+	static {
+		for (int id = 1; id <= Cards.NUMBER_CARDS; ++id) {
+			int code = codeOf(id);
+			CARDS[code] = new Card(id, Cards.value(code), Cards.suitName(code));
+		}
+	}
 
 	int id;
 	int value;
 	String suit;
 
-	/**
-	 * Default constructor.
-	 */
-	Card() {
-	}
-
 	/**
 	 * Constructor with parameters.
 	 * 
@@ -68,6 +66,51 @@ public class Card implements Serializable {
 		return suit;
 	}
 
+	/**
+	 * 
+	 * @return the code of the card, from 0 to 51
+	 * @see Cards
+	 */
+	public int getCode() {
+		return codeOf(id);
+	}
+
+	/**
+	 * 
+	 * @param code
+	 *            the code of a card, from 0 to 51
+	 * @return the card of this code
+	 * @see Cards
+	 */
+	public static Card valueOf(int code) {
+		return CARDS[code];
+	}
+
+	/**
+	 * Two cards are equal if they have the same id, whichever instance they
+	 * are.
+	 */
+	@Override
+	public boolean equals(Object other) {
+
+		if (!(other instanceof Card))
+			return false;
+		return id == ((Card) other).id;
+	}
+
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
+	private static int codeOf(int id) {
+
+		// the ids go from the ace to the two of each suit
+		int position = id - 1;
+		return Cards.code(Cards.ACE_RANK - position % Cards.NUMBER_RANKS,
+				position / Cards.NUMBER_RANKS);
+	}
+
 	public static Card ACE_HEART = new Card(1, Value.ACE, Suit.HEART);
 	public static Card KING_HEART = new Card(2, Value.KING, Suit.HEART);
 	public static Card QUEEN_HEART = new Card(3, Value.QUEEN, Suit.HEART);
@@ -0,0 +1,216 @@
+package poker.server.model.game.card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primitive encoding of the cards used by the game engine. A card is coded by
+ * an integer from 0 to 51 (suit * 13 + rank, the rank going from 0 for a two
+ * to 12 for an ace), and a set of cards is a long whose bit n is set if the
+ * card coded n belongs to the set. A list of cards is stored as the array of
+ * the codes of its cards, one byte per card. The Card class is only needed to
+ * send the cards to the clients.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Card
+ */
+public final class Cards {
+
+	public final static int NUMBER_CARDS = 52;
+	public final static int NUMBER_RANKS = 13;
+	public final static int NUMBER_SUITS = 4;
+
+	public final static int HEART = 0;
+	public final static int DIAMOND = 1;
+	public final static int CLUB = 2;
+	public final static int SPADE = 3;
+
+	public final static int TWO_RANK = 0;
+	public final static int ACE_RANK = 12;
+
+	public final static long EMPTY = 0L;
+
+	private final static int SUIT_RANKS = (1 << NUMBER_RANKS) - 1;
+	private final static long RANK_IN_ALL_SUITS = 1L | 1L << NUMBER_RANKS
+			| 1L << (2 * NUMBER_RANKS) | 1L << (3 * NUMBER_RANKS);
+
+	private final static String[] SUITS = { Suit.HEART, Suit.DIAMOND,
+			Suit.CLUB, Suit.SPADE };
+
+	/**
+	 *
+	 * @param rank
+	 *            the rank of the card, from 0 for a two to 12 for an ace
+	 * @param suit
+	 *            the index of the suit of the card
+	 * @return the code of the card
+	 */
+	public static int code(int rank, int suit) {
+		return suit * NUMBER_RANKS + rank;
+	}
+
+	/**
+	 *
+	 * @param code
+	 *            the code of a card
+	 * @return the rank of the card, from 0 for a two to 12 for an ace
+	 */
+	public static int rank(int code) {
+		return code % NUMBER_RANKS;
+	}
+
+	/**
+	 *
+	 * @param code
+	 *            the code of a card
+	 * @return the index of the suit of the card
+	 */
+	public static int suit(int code) {
+		return code / NUMBER_RANKS;
+	}
+
+	/**
+	 *
+	 * @param code
+	 *            the code of a card
+	 * @return the value of the card, as defined in Value
+	 * @see Value
+	 */
+	public static int value(int code) {
+
+		int rank = rank(code);
+		if (rank == ACE_RANK)
+			return Value.ACE;
+		return rank + Value.TWO;
+	}
+
+	/**
+	 *
+	 * @param code
+	 *            the code of a card
+	 * @return the suit of the card, as defined in Suit
+	 * @see Suit
+	 */
+	public static String suitName(int code) {
+		return SUITS[suit(code)];
+	}
+
+	/**
+	 *
+	 * @param code
+	 *            the code of a card
+	 * @return the set containing only this card
+	 */
+	public static long bit(int code) {
+		return 1L << code;
+	}
+
+	/**
+	 *
+	 * @param cards
+	 *            a set of cards
+	 * @param code
+	 *            the code of a card
+	 * @return true if the card belongs to the set
+	 */
+	public static boolean contains(long cards, int code) {
+		return (cards & bit(code)) != 0;
+	}
+
+	/**
+	 *
+	 * @param cards
+	 *            a set of cards
+	 * @return the number of cards of the set
+	 */
+	public static int count(long cards) {
+		return Long.bitCount(cards);
+	}
+
+	/**
+	 *
+	 * @param cards
+	 *            a set of cards
+	 * @param suit
+	 *            the index of a suit
+	 * @return the mask of the ranks of the cards of this suit, on 13 bits
+	 */
+	public static int ranksOfSuit(long cards, int suit) {
+		return (int) (cards >>> (suit * NUMBER_RANKS)) & SUIT_RANKS;
+	}
+
+	/**
+	 *
+	 * @param rank
+	 *            a rank, from 0 for a two to 12 for an ace
+	 * @return the set of the four cards of this rank
+	 */
+	public static long ofRank(int rank) {
+		return RANK_IN_ALL_SUITS << rank;
+	}
+
+	/**
+	 *
+	 * @param suit
+	 *            the index of a suit
+	 * @return the set of the thirteen cards of this suit
+	 */
+	public static long ofSuit(int suit) {
+		return (long) SUIT_RANKS << (suit * NUMBER_RANKS);
+	}
+
+	/**
+	 *
+	 * @param cards
+	 *            a list of cards
+	 * @return the set of these cards
+	 */
+	public static long mask(List<Card> cards) {
+
+		long mask = EMPTY;
+		for (Card card : cards)
+			mask |= bit(card.getCode());
+		return mask;
+	}
+
+	/**
+	 *
+	 * @param cards
+	 *            a list of cards, null for no card
+	 * @return the codes of the cards, in the same order
+	 */
+	public static byte[] encode(List<Card> cards) {
+
+		if (cards == null)
+			return new byte[0];
+
+		byte[] codes = new byte[cards.size()];
+		for (int i = 0; i < codes.length; ++i)
+			codes[i] = (byte) cards.get(i).getCode();
+		return codes;
+	}
+
+	/**
+	 *
+	 * @param codes
+	 *            the codes of a list of cards, null for no card
+	 * @return the list of the cards, in the same order
+	 */
+	public static List<Card> decode(byte[] codes) {
+
+		if (codes == null)
+			return new ArrayList<Card>();
+
+		List<Card> cards = new ArrayList<Card>(codes.length);
+		for (byte code : codes)
+			cards.add(Card.valueOf(code));
+		return cards;
+	}
+}
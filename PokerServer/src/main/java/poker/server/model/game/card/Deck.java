@@ -1,27 +1,27 @@
 package poker.server.model.game.card;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
-import javax.persistence.CascadeType;
+import javax.persistence.Access;
+import javax.persistence.AccessType;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.OneToMany;
-
-import org.hibernate.annotations.IndexColumn;
+import javax.persistence.TableGenerator;
+import javax.persistence.Transient;
 
 import poker.server.model.exception.GameException;
-import poker.server.model.game.Event;
 
 /**
- * Manages all the entities and actions related to the deck. A deck is a list of
- * cards.
+ * Manages all the entities and actions related to the deck. A deck is the
+ * array of the codes of its cards, shuffled in place once per hand and dealt
+ * by advancing a position in the array. The random generator can be replaced,
+ * to replay a game from a seed for example.
  * 
  * @author <b> Rafik Ferroukh </b> <br>
  *         <b> Lucas Kerdoncuff </b> <br>
@@ -34,6 +34,7 @@ import poker.server.model.game.Event;
  * @see Card
  */
 @Entity
+@Access(AccessType.FIELD)
 public class Deck implements Serializable {
 
 	private static final long serialVersionUID = 1777319055997725546L;
@@ -42,19 +43,37 @@ public class Deck implements Serializable {
 	private static final String NO_CARDS = "there isn't a cards on table !";
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "deckIds")
+	@TableGenerator(name = "deckIds", allocationSize = 64)
 	int id;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "deck_Id")
-	@IndexColumn(name = "deckCardIndex")
-	List<Card> cards;
+	// the codes of the cards in their order, stored by getCardCodes
+	@Transient
+	byte[] codes;
+
+	int position;
+
+	transient Random random;
 
 	/**
-	 * Default constructor. Create a deck with NUMBER_CARDS cards.
+	 * Default constructor. Create a deck with NUMBER_CARDS cards, shuffled
+	 * with a SecureRandom.
 	 */
 	public Deck() {
-		cards = new ArrayList<Card>(NUMBER_CARDS);
+		this(null);
+	}
+
+	/**
+	 * Create a deck with NUMBER_CARDS cards, shuffled with the given random
+	 * generator.
+	 * 
+	 * @param randomGenerator
+	 *            the random generator, a SecureRandom if null
+	 */
+	public Deck(Random randomGenerator) {
+		codes = new byte[NUMBER_CARDS];
+		position = 0;
+		random = randomGenerator;
 		prepareCards();
 	}
 
@@ -63,14 +82,20 @@ public class Deck implements Serializable {
 	 * @return the next card from the deck
 	 */
 	public Card getNextCard() {
+		return Card.valueOf(getNextCode());
+	}
+
+	/**
+	 * 
+	 * @return the code of the next card from the deck
+	 * @see Cards
+	 */
+	public int getNextCode() {
 
-		if (cards.size() == 0)
+		if (position == codes.length)
 			throw new GameException(NO_CARDS);
 
-		shuffle();
-		Card card = this.cards.get(0);
-		cards.remove(card);
-		return card;
+		return codes[position++];
 	}
 
 	/**
@@ -80,48 +105,91 @@ public class Deck implements Serializable {
 	 * @return the burned card
 	 */
 	public Card burnCard() {
-
-		if (cards.size() == 0)
-			throw new GameException(NO_CARDS);
-
-		Card card = getNextCard();
-		Event.addEvent("THE BURNED CARD : " + card.getValue() + " , "
-				+ card.getSuit());
-		return card;
+		return getNextCard();
 	}
 
 	/**
-	 * Shuffle the deck.
+	 * Gather all the cards and shuffle the deck (Fisher-Yates), once before
+	 * each deal.
 	 */
 	public void shuffle() {
 
-		if (cards.size() == 0)
-			throw new GameException(NO_CARDS);
-
-		Card temp = null;
+		Random generator = getRandom();
 
-		Random r = new Random();
-		int random = r.nextInt() % 20;
+		for (int i = codes.length - 1; i > 0; --i) {
 
-		while (random > 0) {
-			int limit = cards.size() / 2;
-			int sizeCards = cards.size() - 1;
-			for (int i = 0; i < limit; ++i, --sizeCards) {
-				temp = cards.get(i);
-				cards.set(i, cards.get(sizeCards));
-				cards.set(sizeCards, temp);
-			}
-			--random;
+			int j = generator.nextInt(i + 1);
+			byte temp = codes[i];
+			codes[i] = codes[j];
+			codes[j] = temp;
 		}
-		Event.addEvent("THE DECK IS SHUFFLED");
+		position = 0;
 	}
 
 	/**
 	 * 
-	 * @return the list of the card
+	 * @return the list of the cards remaining in the deck
 	 */
 	public List<Card> getCards() {
-		return cards;
+		return Cards.decode(Arrays.copyOfRange(codes, position, codes.length));
+	}
+
+	/**
+	 * 
+	 * @return the set of the cards remaining in the deck
+	 * @see Cards
+	 */
+	public long getCardSet() {
+
+		long set = Cards.EMPTY;
+		for (int i = position; i < codes.length; ++i)
+			set |= Cards.bit(codes[i]);
+		return set;
+	}
+
+	/**
+	 * 
+	 * @return the number of cards remaining in the deck
+	 */
+	public int getSize() {
+		return codes.length - position;
+	}
+
+	/**
+	 * Replace the random generator used to shuffle the deck. A seeded
+	 * generator gives the same deals each time.
+	 * 
+	 * @param randomGenerator
+	 *            the new random generator
+	 */
+	public void setRandom(Random randomGenerator) {
+		random = randomGenerator;
+	}
+
+	/**
+	 * 
+	 * @return the codes of the cards of the deck in their order, the column
+	 *         storing the cards
+	 */
+	@Access(AccessType.PROPERTY)
+	protected byte[] getCardCodes() {
+		return codes;
+	}
+
+	/**
+	 * 
+	 * @param codes
+	 *            the codes of the cards of the deck in their order
+	 */
+	protected void setCardCodes(byte[] cardCodes) {
+		codes = cardCodes == null ? new byte[0] : cardCodes;
+	}
+
+	private Random getRandom() {
+
+		if (random == null)
+			random = new SecureRandom();
+		return random;
 	}
 
 	/**
@@ -129,60 +197,11 @@ public class Deck implements Serializable {
 	 */
 	private void prepareCards() {
 
-		cards.add(new Card(1, Value.ACE, Suit.HEART));
-		cards.add(new Card(2, Value.KING, Suit.HEART));
-		cards.add(new Card(3, Value.QUEEN, Suit.HEART));
-		cards.add(new Card(4, Value.JACK, Suit.HEART));
-		cards.add(new Card(5, Value.TEN, Suit.HEART));
-		cards.add(new Card(6, Value.NINE, Suit.HEART));
-		cards.add(new Card(7, Value.EIGHT, Suit.HEART));
-		cards.add(new Card(8, Value.SEVEN, Suit.HEART));
-		cards.add(new Card(9, Value.SIX, Suit.HEART));
-		cards.add(new Card(10, Value.FIVE, Suit.HEART));
-		cards.add(new Card(11, Value.FOUR, Suit.HEART));
-		cards.add(new Card(12, Value.THREE, Suit.HEART));
-		cards.add(new Card(13, Value.TWO, Suit.HEART));
-
-		cards.add(new Card(14, Value.ACE, Suit.DIAMOND));
-		cards.add(new Card(15, Value.KING, Suit.DIAMOND));
-		cards.add(new Card(16, Value.QUEEN, Suit.DIAMOND));
-		cards.add(new Card(17, Value.JACK, Suit.DIAMOND));
-		cards.add(new Card(18, Value.TEN, Suit.DIAMOND));
-		cards.add(new Card(19, Value.NINE, Suit.DIAMOND));
-		cards.add(new Card(20, Value.EIGHT, Suit.DIAMOND));
-		cards.add(new Card(21, Value.SEVEN, Suit.DIAMOND));
-		cards.add(new Card(22, Value.SIX, Suit.DIAMOND));
-		cards.add(new Card(23, Value.FIVE, Suit.DIAMOND));
-		cards.add(new Card(24, Value.FOUR, Suit.DIAMOND));
-		cards.add(new Card(25, Value.THREE, Suit.DIAMOND));
-		cards.add(new Card(26, Value.TWO, Suit.DIAMOND));
-
-		cards.add(new Card(27, Value.ACE, Suit.CLUB));
-		cards.add(new Card(28, Value.KING, Suit.CLUB));
-		cards.add(new Card(29, Value.QUEEN, Suit.CLUB));
-		cards.add(new Card(30, Value.JACK, Suit.CLUB));
-		cards.add(new Card(31, Value.TEN, Suit.CLUB));
-		cards.add(new Card(32, Value.NINE, Suit.CLUB));
-		cards.add(new Card(33, Value.EIGHT, Suit.CLUB));
-		cards.add(new Card(34, Value.SEVEN, Suit.CLUB));
-		cards.add(new Card(35, Value.SIX, Suit.CLUB));
-		cards.add(new Card(36, Value.FIVE, Suit.CLUB));
-		cards.add(new Card(37, Value.FOUR, Suit.CLUB));
-		cards.add(new Card(38, Value.THREE, Suit.CLUB));
-		cards.add(new Card(39, Value.TWO, Suit.CLUB));
-
-		cards.add(new Card(40, Value.ACE, Suit.SPADE));
-		cards.add(new Card(41, Value.KING, Suit.SPADE));
-		cards.add(new Card(42, Value.QUEEN, Suit.SPADE));
-		cards.add(new Card(43, Value.JACK, Suit.SPADE));
-		cards.add(new Card(44, Value.TEN, Suit.SPADE));
-		cards.add(new Card(45, Value.NINE, Suit.SPADE));
-		cards.add(new Card(46, Value.EIGHT, Suit.SPADE));
-		cards.add(new Card(47, Value.SEVEN, Suit.SPADE));
-		cards.add(new Card(48, Value.SIX, Suit.SPADE));
-		cards.add(new Card(49, Value.FIVE, Suit.SPADE));
-		cards.add(new Card(50, Value.FOUR, Suit.SPADE));
-		cards.add(new Card(51, Value.THREE, Suit.SPADE));
-		cards.add(new Card(52, Value.TWO, Suit.SPADE));
+		// from the ace to the two of each suit
+		int i = 0;
+		for (int suit = 0; suit < Cards.NUMBER_SUITS; ++suit) {
+			for (int rank = Cards.ACE_RANK; rank >= Cards.TWO_RANK; --rank)
+				codes[i++] = (byte) Cards.code(rank, suit);
+		}
 	}
 }
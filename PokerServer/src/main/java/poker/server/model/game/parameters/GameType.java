@@ -277,6 +277,14 @@ public class GameType implements Serializable {
 		this.timeChangeBlind = timeChangeBlind;
 	}
 
+	/**
+	 * 
+	 * @return the number of games of this type created and not started yet
+	 */
+	public int getNumberOfCurrentGames() {
+		return numberOfCurrentGames;
+	}
+
 	/**
 	 * 
 	 * @param numberOfCurrentGames
@@ -4,7 +4,8 @@ import javax.ejb.Stateless;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 
-import poker.server.infrastructure.RepositoryGenericJPA;
+import poker.server.infrastructure.EntityCache;
+import poker.server.infrastructure.RepositoryCachedJPA;
 import poker.server.infrastructure.RepositoryGameType;
 
 /**
@@ -21,12 +22,18 @@ import poker.server.infrastructure.RepositoryGameType;
  */
 @Stateless
 public class RepositoryGameTypeJPA extends
-		RepositoryGenericJPA<GameType, String> implements RepositoryGameType {
+		RepositoryCachedJPA<GameType, String> implements RepositoryGameType {
+
+	private static final EntityCache<String, GameType> CACHE = new EntityCache<String, GameType>();
 
 	private static final String SELECT_GAME_TYPE_REQUEST = "SELECT g FROM GameType g WHERE g.name = :name";
 	private static final String NAME = "name";
 	private static final String LABRI_TEXAS_HOLDEM_SIT_AND_GO = "Labri_Texas_Holdem_SitAndGo";
 
+	public RepositoryGameTypeJPA() {
+		super(CACHE);
+	}
+
 	@Override
 	public boolean existSitAndGo() {
 
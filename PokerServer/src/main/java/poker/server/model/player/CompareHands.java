@@ -1,6 +1,7 @@
 package poker.server.model.player;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -74,6 +75,46 @@ public class CompareHands {
 		return ranking;
 	}
 
+	/**
+	 * Return the ranking of given players from the strength of their hand, as
+	 * computed by the HandEvaluator. The strengths are sorted once, and the
+	 * players having the same strength share the same rank.
+	 * 
+	 * @param playersWithStrengths
+	 *            map associating players with the strength of their hand
+	 * @see HandEvaluator
+	 * 
+	 * @return ranking map associating players with an integer value (rank).
+	 */
+	public static Map<Player, Integer> getRankingByStrength(
+			Map<Player, Integer> playersWithStrengths) {
+
+		int[] strengths = new int[playersWithStrengths.size()];
+		int size = 0;
+
+		for (int strength : playersWithStrengths.values())
+			strengths[size++] = strength;
+
+		Arrays.sort(strengths);
+
+		// keep each strength once, the weakest first
+		int distinct = 0;
+		for (int i = 0; i < size; ++i) {
+			if (distinct == 0 || strengths[distinct - 1] != strengths[i])
+				strengths[distinct++] = strengths[i];
+		}
+
+		Map<Player, Integer> ranking = new HashMap<Player, Integer>();
+
+		for (Entry<Player, Integer> entry : playersWithStrengths.entrySet()) {
+			int index = Arrays.binarySearch(strengths, 0, distinct,
+					entry.getValue());
+			ranking.put(entry.getKey(), distinct - index);
+		}
+
+		return ranking;
+	}
+
 	/**
 	 * Modify an existing ranking map, comparing given players. All players must
 	 * have the same kind of hand.
@@ -4,20 +4,19 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.persistence.CascadeType;
+import javax.persistence.Access;
+import javax.persistence.AccessType;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.OneToMany;
-
-import org.hibernate.annotations.IndexColumn;
+import javax.persistence.TableGenerator;
+import javax.persistence.Transient;
 
 import poker.server.model.exception.PlayerException;
 import poker.server.model.game.Game;
 import poker.server.model.game.card.Card;
+import poker.server.model.game.card.Cards;
 import poker.server.model.game.card.Value;
 
 /**
@@ -34,29 +33,20 @@ import poker.server.model.game.card.Value;
  * @see Game
  */
 @Entity
+@Access(AccessType.FIELD)
 public class Hand implements Serializable {
 
 	private static final long serialVersionUID = 4992236533941764498L;
 
-	private static final int ROYAL_FLUSH = 9;
-	private static final int STRAIGHT_FLUSH = 8;
-	private static final int QUADS = 7;
-	private static final int FULL_HOUSE = 6;
-	private static final int FLUSH = 5;
-	private static final int STRAIGHT = 4;
-	private static final int TRIPS = 3;
-	private static final int TWO_PAIR = 2;
-	private static final int ONE_PAIR = 1;
-	private static final int HIGH_CARD = 0;
 	private static final String NOT_FIVE_CARDS = "can't evaluate less or more than five cards";
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "handIds")
+	@TableGenerator(name = "handIds", allocationSize = 64)
 	int id;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "hand_Id")
-	@IndexColumn(name = "cardHandIndex")
+	// stored as the codes of the cards, see getCardCodes
+	@Transient
 	List<Card> cards;
 
 	/**
@@ -91,32 +81,14 @@ public class Hand implements Serializable {
 	 * Evaluate the hand.
 	 * 
 	 * @return the value of the hand
+	 * @see HandEvaluator
 	 */
 	public int evaluateHand() {
 
 		if (cards.size() != 5)
 			throw new PlayerException(NOT_FIVE_CARDS);
 
-		if (isRoyalFlush())
-			return ROYAL_FLUSH;
-		if (isStraightFlush())
-			return STRAIGHT_FLUSH;
-		if (isQuads())
-			return QUADS;
-		if (isFullHouse())
-			return FULL_HOUSE;
-		if (isFlush())
-			return FLUSH;
-		if (isStraight())
-			return STRAIGHT;
-		if (isTrips())
-			return TRIPS;
-		if (isTwoPair())
-			return TWO_PAIR;
-		if (isOnePair())
-			return ONE_PAIR;
-
-		return HIGH_CARD;
+		return HandEvaluator.getCategory(HandEvaluator.evaluate(cards));
 	}
 
 	public boolean isRoyalFlush() {
@@ -126,17 +98,11 @@ public class Hand implements Serializable {
 		sort(tempCards); // sort list from the less value card to the greater
 
 		// handle the case when the Ace play the high card role
-		String suit = tempCards.get(0).getSuit();
 		if (tempCards.get(0).getValue() == Value.ACE
-				&& tempCards.get(0).getSuit().equals(suit)
 				&& tempCards.get(1).getValue() == Value.TEN
-				&& tempCards.get(1).getSuit().equals(suit)
 				&& tempCards.get(2).getValue() == Value.JACK
-				&& tempCards.get(2).getSuit().equals(suit)
 				&& tempCards.get(3).getValue() == Value.QUEEN
-				&& tempCards.get(3).getSuit().equals(suit)
-				&& tempCards.get(4).getValue() == Value.KING
-				&& tempCards.get(4).getSuit().equals(suit))
+				&& tempCards.get(4).getValue() == Value.KING && isFlush())
 			return true;
 
 		return false;
@@ -151,8 +117,7 @@ public class Hand implements Serializable {
 		for (int i = 0; i < tempCards.size() - 1; ++i) {
 
 			if (tempCards.get(i + 1).getValue() != tempCards.get(i).getValue() + 1
-					|| !tempCards.get(i + 1).getSuit()
-							.equals(tempCards.get(i).getSuit()))
+					|| suitOf(tempCards.get(i + 1)) != suitOf(tempCards.get(i)))
 				return false;
 		}
 		return true;
@@ -203,11 +168,11 @@ public class Hand implements Serializable {
 
 	public boolean isFlush() {
 
-		String suit = cards.get(0).getSuit();
+		int suit = suitOf(cards.get(0));
 
 		// all the cards must have the same suit
 		for (Card card : cards) {
-			if (card.getSuit() != suit)
+			if (suitOf(card) != suit)
 				return false;
 		}
 		return true;
@@ -300,6 +265,32 @@ public class Hand implements Serializable {
 		return bestCard;
 	}
 
+	/**
+	 * 
+	 * @return the id generated for the hand, 0 until it is written
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * 
+	 * @param iD
+	 *            the id generated for the hand
+	 */
+	public void setId(int iD) {
+		id = iD;
+	}
+
+	/**
+	 * 
+	 * @return the set of the cards from the hand
+	 * @see Cards
+	 */
+	public long getCardSet() {
+		return Cards.mask(cards);
+	}
+
 	/**
 	 * 
 	 * @return the list of the card from the hand
@@ -308,6 +299,29 @@ public class Hand implements Serializable {
 		return this.cards;
 	}
 
+	/**
+	 * 
+	 * @return the codes of the cards of the hand in their order, the column
+	 *         storing the cards
+	 */
+	@Access(AccessType.PROPERTY)
+	protected byte[] getCardCodes() {
+		return Cards.encode(cards);
+	}
+
+	/**
+	 * 
+	 * @param codes
+	 *            the codes of the cards of the hand in their order
+	 */
+	protected void setCardCodes(byte[] codes) {
+		cards = Cards.decode(codes);
+	}
+
+	private int suitOf(Card card) {
+		return Cards.suit(card.getCode());
+	}
+
 	private int countSuitCards(List<Card> tempCards, int pos) {
 
 		int count = 1;
@@ -0,0 +1,332 @@
+package poker.server.model.player;
+
+import java.util.List;
+
+import poker.server.model.exception.PlayerException;
+import poker.server.model.game.Game;
+import poker.server.model.game.card.Card;
+import poker.server.model.game.card.Cards;
+
+/**
+ * Evaluates a set of five, six or seven cards into a single integer, the
+ * strength of the hand. The category of the hand (pair, flush...) is stored in
+ * the high bits, and the five ranks deciding between two hands of the same
+ * category are stored below it, the most significant first. So the best hand
+ * is the greatest strength, and two hands are equal if their strengths are.
+ * <p>
+ * The cards are read as a set of cards (see Cards), split in four masks of 13
+ * bits (one per suit), and the straights and the kickers are read in tables
+ * precomputed for the 8192 possible masks: nothing is sorted and nothing is
+ * allocated.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Cards
+ * @see Hand
+ * @see Game
+ */
+public class HandEvaluator {
+
+	public static final int ROYAL_FLUSH = 9;
+	public static final int STRAIGHT_FLUSH = 8;
+	public static final int QUADS = 7;
+	public static final int FULL_HOUSE = 6;
+	public static final int FLUSH = 5;
+	public static final int STRAIGHT = 4;
+	public static final int TRIPS = 3;
+	public static final int TWO_PAIR = 2;
+	public static final int ONE_PAIR = 1;
+	public static final int HIGH_CARD = 0;
+
+	private static final String BAD_NUMBER_OF_CARDS = "can't evaluate less than five or more than seven cards";
+
+	private static final int NB_RANKS = Cards.NUMBER_RANKS;
+	private static final int ACE_RANK = Cards.ACE_RANK;
+	private static final int FIVE_RANK = 3;
+	private static final int CATEGORY_SHIFT = 20;
+	private static final int RANK_BITS = 4;
+	private static final int RANK_MASK = 0xF;
+
+	// for each mask of ranks: 1 + the rank of the highest straight, 0 if none
+	private static final int[] STRAIGHTS = new int[1 << NB_RANKS];
+
+	// for each mask of ranks: its five highest ranks, the highest first
+	private static final int[] TOP_FIVE = new int[1 << NB_RANKS];
+
+	static {
+		for (int mask = 0; mask < STRAIGHTS.length; ++mask) {
+			STRAIGHTS[mask] = highestStraight(mask);
+			TOP_FIVE[mask] = highestRanks(mask);
+		}
+	}
+
+	/**
+	 * Evaluate a set of cards.
+	 *
+	 * @param cards
+	 *            five, six or seven cards
+	 * @return the strength of the best hand made with these cards
+	 * @exception PlayerException
+	 *                if there is less than five or more than seven cards
+	 */
+	public static int evaluate(List<Card> cards) {
+		return evaluate(Cards.mask(cards));
+	}
+
+	/**
+	 * Evaluate the hand of a player at the showdown.
+	 *
+	 * @param holeCards
+	 *            the cards of the player
+	 * @param board
+	 *            the flipped cards of the game
+	 * @return the strength of the best hand made with these cards
+	 * @exception PlayerException
+	 *                if there is less than five or more than seven cards
+	 */
+	public static int evaluate(long holeCards, long board) {
+		return evaluate(holeCards | board);
+	}
+
+	/**
+	 * Evaluate a set of cards.
+	 *
+	 * @param cards
+	 *            five, six or seven cards, as defined in Cards
+	 * @return the strength of the best hand made with these cards
+	 * @exception PlayerException
+	 *                if there is less than five or more than seven cards
+	 */
+	public static int evaluate(long cards) {
+
+		int size = Cards.count(cards);
+		if (size < 5 || size > 7)
+			throw new PlayerException(BAD_NUMBER_OF_CARDS);
+
+		return evaluate(Cards.ranksOfSuit(cards, Cards.HEART),
+				Cards.ranksOfSuit(cards, Cards.DIAMOND),
+				Cards.ranksOfSuit(cards, Cards.CLUB),
+				Cards.ranksOfSuit(cards, Cards.SPADE));
+	}
+
+	/**
+	 * Evaluate a set of cards given as one mask of ranks per suit.
+	 *
+	 * @return the strength of the best hand made with these cards
+	 */
+	public static int evaluate(int hearts, int diamonds, int clubs, int spades) {
+
+		int all = hearts | diamonds | clubs | spades;
+		int flush = flushRanks(hearts, diamonds, clubs, spades);
+
+		if (flush != 0 && STRAIGHTS[flush] != 0) {
+			int high = STRAIGHTS[flush] - 1;
+			return strength(high == ACE_RANK ? ROYAL_FLUSH : STRAIGHT_FLUSH,
+					straightRanks(high));
+		}
+
+		int quads = hearts & diamonds & clubs & spades;
+		if (quads != 0) {
+			int quad = Integer.highestOneBit(quads);
+			int rank = rank(quad);
+			return strength(QUADS, ranks(rank, rank, rank, rank)
+					| top(all & ~quad, 1));
+		}
+
+		int trips = (hearts & diamonds & clubs) | (hearts & diamonds & spades)
+				| (hearts & clubs & spades) | (diamonds & clubs & spades);
+		int pairs = (hearts & diamonds) | (hearts & clubs) | (hearts & spades)
+				| (diamonds & clubs) | (diamonds & spades) | (clubs & spades);
+
+		if (trips != 0) {
+			int trip = Integer.highestOneBit(trips);
+			int others = pairs & ~trip;
+			if (others != 0) {
+				int tripRank = rank(trip);
+				int pairRank = rank(Integer.highestOneBit(others));
+				return strength(FULL_HOUSE, ranks(tripRank, tripRank,
+						tripRank, pairRank) | pairRank);
+			}
+		}
+
+		if (flush != 0)
+			return strength(FLUSH, TOP_FIVE[flush]);
+
+		if (STRAIGHTS[all] != 0)
+			return strength(STRAIGHT, straightRanks(STRAIGHTS[all] - 1));
+
+		if (trips != 0) {
+			int trip = Integer.highestOneBit(trips);
+			int rank = rank(trip);
+			return strength(TRIPS, ranks(rank, rank, rank, 0)
+					| top(all & ~trip, 2));
+		}
+
+		if (Integer.bitCount(pairs) >= 2) {
+			int high = Integer.highestOneBit(pairs);
+			int low = Integer.highestOneBit(pairs & ~high);
+			int highRank = rank(high);
+			int lowRank = rank(low);
+			return strength(TWO_PAIR, ranks(highRank, highRank, lowRank,
+					lowRank) | top(all & ~(high | low), 1));
+		}
+
+		if (pairs != 0) {
+			int rank = rank(pairs);
+			return strength(ONE_PAIR, rank << (4 * RANK_BITS)
+					| rank << (3 * RANK_BITS) | top(all & ~pairs, 3));
+		}
+
+		return strength(HIGH_CARD, TOP_FIVE[all]);
+	}
+
+	/**
+	 *
+	 * @param strength
+	 *            the strength of a hand
+	 * @return the category of the hand, from HIGH_CARD to ROYAL_FLUSH
+	 */
+	public static int getCategory(int strength) {
+		return strength >>> CATEGORY_SHIFT;
+	}
+
+	/**
+	 * Find the five cards which give the strength of a set of cards.
+	 *
+	 * @param strength
+	 *            the strength returned by evaluate for these cards
+	 * @param cards
+	 *            the evaluated set of cards
+	 * @return the set of the five best cards
+	 */
+	public static long getBestCards(int strength, long cards) {
+
+		int category = getCategory(strength);
+
+		if (category == FLUSH || category == STRAIGHT_FLUSH
+				|| category == ROYAL_FLUSH) {
+
+			for (int suit = 0; suit < Cards.NUMBER_SUITS; ++suit) {
+				long suited = cards & Cards.ofSuit(suit);
+				if (Cards.count(suited) >= 5)
+					cards = suited;
+			}
+		}
+
+		long bestCards = Cards.EMPTY;
+
+		for (int i = 4; i >= 0; --i) {
+
+			int rank = (strength >>> (i * RANK_BITS)) & RANK_MASK;
+			long candidates = cards & Cards.ofRank(rank) & ~bestCards;
+			bestCards |= Long.lowestOneBit(candidates);
+		}
+		return bestCards;
+	}
+
+	/**
+	 * Build the hand of the five cards which give the strength of a player at
+	 * the showdown.
+	 *
+	 * @param strength
+	 *            the strength returned by evaluate for these cards
+	 * @param holeCards
+	 *            the cards of the player
+	 * @param board
+	 *            the flipped cards of the game
+	 * @return a hand of five cards
+	 */
+	public static Hand getBestHand(int strength, List<Card> holeCards,
+			List<Card> board) {
+
+		long bestCards = getBestCards(strength, Cards.mask(holeCards)
+				| Cards.mask(board));
+
+		Hand bestHand = new Hand();
+		addCards(bestHand, holeCards, bestCards);
+		addCards(bestHand, board, bestCards);
+		return bestHand;
+	}
+
+	private static void addCards(Hand hand, List<Card> cards, long chosen) {
+
+		for (Card card : cards) {
+			if (Cards.contains(chosen, card.getCode()))
+				hand.addCard(card);
+		}
+	}
+
+	private static int flushRanks(int hearts, int diamonds, int clubs,
+			int spades) {
+
+		if (Integer.bitCount(hearts) >= 5)
+			return hearts;
+		if (Integer.bitCount(diamonds) >= 5)
+			return diamonds;
+		if (Integer.bitCount(clubs) >= 5)
+			return clubs;
+		if (Integer.bitCount(spades) >= 5)
+			return spades;
+		return 0;
+	}
+
+	private static int strength(int category, int ranks) {
+		return category << CATEGORY_SHIFT | ranks;
+	}
+
+	private static int ranks(int r1, int r2, int r3, int r4) {
+		return (r1 << (3 * RANK_BITS) | r2 << (2 * RANK_BITS) | r3 << RANK_BITS | r4) << RANK_BITS;
+	}
+
+	private static int rank(int bit) {
+		return Integer.numberOfTrailingZeros(bit);
+	}
+
+	private static int top(int mask, int number) {
+		return TOP_FIVE[mask] >>> ((5 - number) * RANK_BITS);
+	}
+
+	private static int straightRanks(int high) {
+
+		if (high == FIVE_RANK)
+			return ranks(FIVE_RANK, 2, 1, 0) | ACE_RANK;
+		return ranks(high, high - 1, high - 2, high - 3) | (high - 4);
+	}
+
+	private static int highestStraight(int mask) {
+
+		for (int high = ACE_RANK; high > FIVE_RANK; --high) {
+
+			int straight = 0x1F << (high - 4);
+			if ((mask & straight) == straight)
+				return high + 1;
+		}
+
+		// the ace plays the role of the one
+		int wheel = 0xF | 1 << ACE_RANK;
+		if ((mask & wheel) == wheel)
+			return FIVE_RANK + 1;
+
+		return 0;
+	}
+
+	private static int highestRanks(int mask) {
+
+		int ranks = 0;
+		int number = 0;
+
+		for (int rank = ACE_RANK; rank >= 0 && number < 5; --rank) {
+			if ((mask & (1 << rank)) != 0) {
+				ranks = ranks << RANK_BITS | rank;
+				++number;
+			}
+		}
+		return ranks << ((5 - number) * RANK_BITS);
+	}
+}
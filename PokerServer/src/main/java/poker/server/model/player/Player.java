@@ -31,6 +31,7 @@ import poker.server.model.game.card.Card;
  * @see showDown in class Game
  */
 @Entity
+@org.hibernate.annotations.Entity(dynamicUpdate = true)
 public class Player implements Serializable {
 
 	private static final long serialVersionUID = 594540699238459099L;
@@ -57,16 +58,15 @@ public class Player implements Serializable {
 
 	private String pwd;
 
-	@ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "game_Id")
 	Game game;
 
-	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	// the hand of the previous deal is deleted when a new one replaces it
+	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
 	@JoinColumn(name = "hand")
 	Hand currentHand;
 
-	transient Hand cleanHand = new Hand();
-
 	int currentBet;
 	int currentTokens;
 	int money;
@@ -132,6 +132,29 @@ public class Player implements Serializable {
 		currentTokens -= token;
 	}
 
+	/**
+	 * Post the blind of the player at the start of a hand, as his first bet. A
+	 * player short of the blind posts all his tokens and is all in from the
+	 * preflop.
+	 * 
+	 * @param blind
+	 *            the smallBlind or the bigBlind of the game
+	 * @return the amount of tokens posted
+	 */
+	public int postBlind(int blind) {
+
+		int posted = Math.min(blind, currentTokens);
+		currentTokens -= posted;
+		currentBet = posted;
+		totalBet = posted;
+
+		if (currentTokens == 0) {
+			allIn = true;
+			roundAllIn = 0;
+		}
+		return posted;
+	}
+
 	/**
 	 * Method to set the tokens win by the player if it has the best hand cards.
 	 * 
@@ -167,12 +190,17 @@ public class Player implements Serializable {
 			currentTokens -= necessaryTokens;
 			currentBet += necessaryTokens;
 			totalBet += necessaryTokens;
+
+			if (currentTokens == 0) {
+				allIn = true;
+				roundAllIn = game.getCurrentRound();
+			}
 		}
 		game.updateLastPlayerToPlay();
 		game.nextPlayer();
 		lastAction = RAISE;
 		lastRaisedValue = quantity;
-		Event.addEvent(name + " RAISES " + quantity);
+		game.addEvent(Event.ACTION, name + " RAISES " + quantity);
 	}
 
 	/**
@@ -197,12 +225,13 @@ public class Player implements Serializable {
 			if (currentTokens == 0) {
 				game.updateLastPlayerToPlay();
 				allIn = true;
+				roundAllIn = game.getCurrentRound();
 			}
 		}
 
 		game.nextPlayer();
 		lastAction = CALL;
-		Event.addEvent(name + " CALLS");
+		game.addEvent(Event.ACTION, name + " CALLS");
 	}
 
 	/**
@@ -223,7 +252,7 @@ public class Player implements Serializable {
 		game.updateLastPlayerToPlay();
 		game.nextPlayer();
 		lastAction = ALLIN;
-		Event.addEvent(name + " ALLIN");
+		game.addEvent(Event.ACTION, name + " ALLIN");
 	}
 
 	/**
@@ -235,7 +264,7 @@ public class Player implements Serializable {
 		folded = true;
 		game.nextPlayer();
 		lastAction = FOLD;
-		Event.addEvent(name + " FOLDS");
+		game.addEvent(Event.ACTION, name + " FOLDS");
 	}
 
 	/**
@@ -261,7 +290,7 @@ public class Player implements Serializable {
 
 		game.nextPlayer();
 		lastAction = CHECK;
-		Event.addEvent(name + " CHECKS");
+		game.addEvent(Event.ACTION, name + " CHECKS");
 	}
 
 	/**
@@ -355,6 +384,7 @@ public class Player implements Serializable {
 	public void setOutGame() {
 		connectionStatus = OUTGAME;
 		game.removePlayer(name);
+		game.updateSeat(this);
 	}
 
 	/**
@@ -384,6 +414,8 @@ public class Player implements Serializable {
 	public void setAsMissing() {
 		connectionStatus = MISSING;
 		folded = true;
+		if (game != null)
+			game.updateSeat(this);
 	}
 
 	public void setInGame() {
@@ -430,6 +462,10 @@ public class Player implements Serializable {
 		return allIn;
 	}
 
+	public void setAllIn(boolean allIn) {
+		this.allIn = allIn;
+	}
+
 	public void setCurrentBet(int currentB) {
 		currentBet = currentB;
 	}
@@ -479,7 +515,7 @@ public class Player implements Serializable {
 	}
 
 	public void initHand() {
-		currentHand = cleanHand;
+		currentHand = new Hand();
 	}
 
 	public int getLastAction() {
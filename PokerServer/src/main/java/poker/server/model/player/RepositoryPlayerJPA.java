@@ -6,7 +6,10 @@ package poker.server.model.player;
  *         Model-Infrastructure class : RepositoryPlayerJPA
  */
 
+import java.util.List;
+
 import javax.ejb.Stateless;
+import javax.persistence.Query;
 
 import poker.server.infrastructure.RepositoryGenericJPA;
 import poker.server.infrastructure.RepositoryPlayer;
@@ -15,4 +18,16 @@ import poker.server.infrastructure.RepositoryPlayer;
 public class RepositoryPlayerJPA extends RepositoryGenericJPA<Player, String>
 		implements RepositoryPlayer {
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public String getTableName(String playerName) {
+
+		Query q = em
+				.createQuery("SELECT p.game.name FROM Player p WHERE p.name = :name");
+
+		q.setParameter("name", playerName);
+
+		List<String> names = (List<String>) q.getResultList();
+		return names.isEmpty() ? null : names.get(0);
+	}
 }
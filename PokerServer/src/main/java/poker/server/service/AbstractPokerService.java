@@ -1,12 +1,24 @@
 package poker.server.service;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+
 import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.GameException;
+import poker.server.model.exception.PlayerException;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableTask;
 
 /**
  * This abstract class implement PokerSevice's request management functions.
@@ -31,6 +43,11 @@ public abstract class AbstractPokerService implements PokerService {
 	private static final String FAIL = "fail";
 	private static final String CROS = "Access-Control-Allow-Origin";
 	private static final String STAR = "*";
+	private static final String ETAG = "ETag";
+	protected static final String IF_NONE_MATCH = "If-None-Match";
+
+	// seconds waited for the result of a task run on a table
+	private static final int TABLE_TIMEOUT = 10;
 
 	/**
 	 * Returns the Response built on JSONObject instance
@@ -43,6 +60,30 @@ public abstract class AbstractPokerService implements PokerService {
 		return builder.build();
 	}
 
+	/**
+	 * Returns the Response built on JSONObject instance, tagged with the
+	 * version of its data
+	 */
+	protected Response buildResponse(JSONObject json, String tag) {
+
+		ResponseBuilder builder = Response.ok(json);
+		builder.header(CROS, STAR);
+		builder.header(ETAG, tag);
+		return builder.build();
+	}
+
+	/**
+	 * Returns an empty Response telling the client that the data it knows,
+	 * tagged {@code tag}, hasn't changed
+	 */
+	protected Response notModified(String tag) {
+
+		ResponseBuilder builder = Response.status(Status.NOT_MODIFIED);
+		builder.header(CROS, STAR);
+		builder.header(ETAG, tag);
+		return builder.build();
+	}
+
 	/**
 	 * Build and return a JSONObject error message
 	 */
@@ -90,4 +131,102 @@ public abstract class AbstractPokerService implements PokerService {
 		}
 	}
 
+	/**
+	 * Run a task on the game of a table, and wait for its result. A task
+	 * still waiting in the mailbox after TABLE_TIMEOUT seconds is cancelled.
+	 * 
+	 * @exception GameException
+	 *                if the task can't be run, or the exception thrown by the
+	 *                task
+	 */
+	protected <T> T runOnTable(Table table, TableTask<T> task) {
+		return waitFor(table.submit(task));
+	}
+
+	/**
+	 * Run a task building a response on the game of a table, the exceptions
+	 * of the game are returned as errors
+	 */
+	protected Response execute(Table table, TableTask<Response> task) {
+
+		try {
+			return runOnTable(table, task);
+
+		} catch (GameException e) {
+			return error(e);
+		} catch (PlayerException e) {
+			return error(e);
+		}
+	}
+
+	/**
+	 * Run a task only reading the game of a table, the version of the table
+	 * is kept. The exceptions of the game are returned as errors
+	 */
+	protected Response executeRead(Table table, TableTask<Response> task) {
+
+		try {
+			return waitFor(table.read(task));
+
+		} catch (GameException e) {
+			return error(e);
+		} catch (PlayerException e) {
+			return error(e);
+		}
+	}
+
+	private <T> T waitFor(Future<T> future) {
+
+		try {
+			return future.get(TABLE_TIMEOUT, TimeUnit.SECONDS);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return waitForStarted(future);
+
+		} catch (TimeoutException e) {
+			return waitForStarted(future);
+
+		} catch (ExecutionException e) {
+			throw failure(e);
+		}
+	}
+
+	/**
+	 * Cancel a task not started yet. A task already started can't be
+	 * stopped and may change the game, so its result is waited for: the
+	 * client must not be told that the table hasn't played it.
+	 */
+	private <T> T waitForStarted(Future<T> future) {
+
+		if (future.cancel(false))
+			throw new GameException(ErrorMessage.TABLE_NOT_AVAILABLE);
+
+		try {
+			return Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			throw failure(e);
+		}
+	}
+
+	private RuntimeException failure(ExecutionException e) {
+
+		if (e.getCause() instanceof RuntimeException)
+			return (RuntimeException) e.getCause();
+		return new GameException(ErrorMessage.UNKNOWN_ERROR);
+	}
+
+	private Response error(GameException e) {
+
+		if (e.getError() != null)
+			return error(e.getError());
+		return error(e.getMessage());
+	}
+
+	private Response error(PlayerException e) {
+
+		if (e.getError() != null)
+			return error(e.getError());
+		return error(e.getMessage());
+	}
 }
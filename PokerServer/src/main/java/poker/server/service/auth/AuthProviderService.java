@@ -26,6 +26,7 @@ import poker.server.infrastructure.auth.AccessToken;
 import poker.server.infrastructure.auth.Consumer;
 import poker.server.infrastructure.auth.RequestToken;
 import poker.server.model.exception.ErrorMessage;
+import poker.server.service.sign.SignatureService;
 
 /** 
  * Service class : AuthService
@@ -184,6 +185,9 @@ public class AuthProviderService extends AuthProvider {
 				connectURI);
 		repositoryConsumer.save(newConsumer);
 
+		// the tokens validated for a former consumer of this key are forgotten
+		SignatureService.getInstance().revokeConsumer(consumerKey);
+
 		return new OAuthConsumer(consumerKey, secret, displayName, connectURI);
 	}
 
@@ -287,6 +291,10 @@ public class AuthProviderService extends AuthProvider {
 
 		repositoryAccessToken.save(accessToken);
 
+		// the tokens validated before for this consumer are checked again in
+		// the database
+		SignatureService.getInstance().revokeConsumer(consumerKey);
+
 		return new OAuthToken(token, secret, requestToken.getScopes(),
 				requestToken.getPermissions(), -1, requestToken.getConsumer());
 	}
@@ -358,7 +366,7 @@ public class AuthProviderService extends AuthProvider {
 	 * Verifies if the consumerKey given as parameter is exists
 	 */
 	private ErrorMessage exist(String consumerKey) {
-		if (repositoryConsumer.load(consumerKey) == null)
+		if (repositoryConsumer.loadCached(consumerKey) == null)
 			return ErrorMessage.UNKNOWN_CONSUMER_KEY;
 		return null;
 	}
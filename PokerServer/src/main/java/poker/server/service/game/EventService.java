@@ -0,0 +1,103 @@
+package poker.server.service.game;
+
+import java.util.List;
+
+import javax.ejb.EJB;
+import javax.enterprise.context.RequestScoped;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Response;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import poker.server.infrastructure.RepositoryConsumer;
+import poker.server.infrastructure.auth.Consumer;
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.game.Event;
+import poker.server.service.AbstractPokerService;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableRegistryLocal;
+
+/**
+ * Serves the events of the games by long polling. A request waiting for new
+ * events must not hold an instance of the pool of a session bean nor a
+ * transaction, so this resource isn't an EJB: it only calls the consumers
+ * and the tables through their EJBs before waiting. Its path is more
+ * specific than the one of {@link GameService}, which keeps the URL of the
+ * service.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Table#awaitEventsSince(long, long)
+ */
+@RequestScoped
+@Path("/game/getEvents")
+public class EventService extends AbstractPokerService {
+
+	// milliseconds a request for the events of a game waits for new ones
+	private static final long EVENTS_TIMEOUT = 25000;
+
+	@EJB
+	private RepositoryConsumer repositoryConsumer;
+
+	@EJB
+	private TableRegistryLocal tableRegistry;
+
+	/**
+	 * Returns the events of the game {@code tableName} following the event
+	 * {@code lastEvent}. If there is none yet, the request waits for the next
+	 * ones (long polling): the client sends again the request with the
+	 * {@code lastEvent} returned, and gets the actions of the other players
+	 * as soon as they are played.
+	 */
+	@GET
+	@Path("/{consumerKey}/{tableName}/{lastEvent}")
+	public Response getEvents(@PathParam("consumerKey") String consumerKey,
+			@PathParam("tableName") String tableName,
+			@PathParam("lastEvent") long lastEvent) {
+
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
+		if (consumer == null)
+			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
+
+		Table table = tableRegistry.getTable(tableName);
+		if (table == null)
+			return error(ErrorMessage.GAME_NOT_EXIST);
+
+		List<Event> events;
+		try {
+			events = table.awaitEventsSince(lastEvent, EVENTS_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return error(ErrorMessage.TABLE_NOT_AVAILABLE);
+		}
+
+		JSONArray jsonEvents = new JSONArray();
+
+		for (Event event : events) {
+
+			JSONObject jsonEvent = new JSONObject();
+			updateJSON(jsonEvent, "id", event.getSequence());
+			updateJSON(jsonEvent, "type", event.getType());
+			updateJSON(jsonEvent, "message", event.getMessage());
+
+			jsonEvents.put(jsonEvent);
+			lastEvent = event.getSequence();
+		}
+
+		JSONObject json = new JSONObject();
+		updateJSON(json, STAT, OK);
+		updateJSON(json, "lastEvent", lastEvent);
+		updateJSON(json, "events", jsonEvents);
+
+		return buildResponse(json);
+	}
+}
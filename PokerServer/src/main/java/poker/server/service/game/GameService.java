@@ -14,12 +14,14 @@ package poker.server.service.game;
  * @see Game
  */
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.core.Response;
@@ -29,23 +31,23 @@ import org.json.JSONObject;
 
 import poker.server.infrastructure.RepositoryAccessToken;
 import poker.server.infrastructure.RepositoryConsumer;
-import poker.server.infrastructure.RepositoryGame;
-import poker.server.infrastructure.RepositoryGameType;
 import poker.server.infrastructure.RepositoryPlayer;
 import poker.server.infrastructure.auth.Consumer;
 import poker.server.model.exception.ErrorMessage;
-import poker.server.model.exception.GameException;
 import poker.server.model.exception.SignatureException;
 import poker.server.model.game.Game;
-import poker.server.model.game.GameFactoryLocal;
 import poker.server.model.game.Pot;
 import poker.server.model.game.card.Card;
-import poker.server.model.game.parameters.GameType;
 import poker.server.model.player.Hand;
 import poker.server.model.player.Player;
 import poker.server.model.player.PlayerFactoryLocal;
 import poker.server.service.AbstractPokerService;
-import poker.server.service.game.timer.TimerUpdateBlinds;
+import poker.server.service.game.table.LobbyEntry;
+import poker.server.service.game.table.LobbySnapshot;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableRegistryLocal;
+import poker.server.service.game.table.TableSnapshots;
+import poker.server.service.game.table.TableTask;
 import poker.server.service.player.PlayerService;
 import poker.server.service.sign.SignatureService;
 
@@ -53,27 +55,21 @@ import poker.server.service.sign.SignatureService;
 @Path("/game")
 public class GameService extends AbstractPokerService {
 
-	@EJB
-	private RepositoryGame repositoryGame;
-
 	@EJB
 	private RepositoryPlayer repositoryPlayer;
 
-	@EJB
-	private RepositoryGameType repositoryParameters;
-
 	@EJB
 	private RepositoryAccessToken repositoryAccessToken;
 
-	@EJB
-	private GameFactoryLocal gameFactory;
-
 	@EJB
 	private PlayerFactoryLocal playerFactory;
 
 	@EJB
 	private RepositoryConsumer repositoryConsumer;
 
+	@EJB
+	private TableRegistryLocal tableRegistry;
+
 	/**
 	 * Insure the connection of a player in a game, the result is a
 	 * {@code JSONObject} that will contains the informations about the
@@ -151,80 +147,65 @@ public class GameService extends AbstractPokerService {
 		String tableName = infos[6];
 		String playerName = infos[8];
 
-		Game game = repositoryGame.load(tableName);
+		Table table = tableRegistry.getTable(tableName);
 
-		if (game == null)
+		if (table == null)
 			return error(ErrorMessage.GAME_NOT_EXIST);
-		else if (game.isStarted())
-			return error(ErrorMessage.GAME_ALREADY_STARTED);
 
-		Player player = repositoryPlayer.load(playerName);
+		final Player player = repositoryPlayer.load(playerName);
 
 		if (player == null)
 			return error(ErrorMessage.PLAYER_NOT_EXIST);
 		else if (player.isInGame())
 			return error(ErrorMessage.PLAYER_INGAME);
 
-		game.add(player);
-		repositoryGame.update(game);
+		return execute(table, new TableTask<Response>() {
 
-		JSONObject json = new JSONObject();
-		updateJSON(json, STAT, OK);
-		updateJSON(json, "tableName", game.getName());
-		return buildResponse(json);
+			@Override
+			public Response run(Game game) {
+
+				if (game.isStarted())
+					return error(ErrorMessage.GAME_ALREADY_STARTED);
+
+				game.add(player);
+				tableRegistry.seat(player.getName(), game.getName());
+
+				JSONObject json = new JSONObject();
+				updateJSON(json, STAT, OK);
+				updateJSON(json, "tableName", game.getName());
+				return buildResponse(json);
+			}
+		});
 	}
 
 	/**
-	 * Returns the status of all games (types) that is not ready to start
+	 * Returns the status of all games (types) that is not ready to start. The
+	 * list is built once per version of the lobby and sent with its ETag: a
+	 * client sending it back in If-None-Match gets an empty 304 response while
+	 * the lobby hasn't changed. The lobby always has empty tables, created in
+	 * the background by the registry of the tables.
 	 * 
 	 * @return
 	 */
 	@GET
 	@Path("/getWaitingTablesList/{consumerKey}")
 	public Response getWaitingTablesList(
-			@PathParam("consumerKey") String consumerKey) {
+			@PathParam("consumerKey") String consumerKey,
+			@HeaderParam(IF_NONE_MATCH) String knownTag) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
-		List<Game> currentGames = new ArrayList<Game>();
-		List<GameType> parameters = new ArrayList<GameType>();
-
-		currentGames = repositoryGame.getNotReadyGames();
-		parameters = repositoryParameters.loadAll();
-
-		if (parameters.size() == 0) {
-			// by default if there is not a default parameter, create manually a
-			// game with this default parameter
-			Game newGame = gameFactory.newGame();
-			newGame = repositoryGame.save(newGame);
-			currentGames.add(newGame);
+		LobbySnapshot snapshot = tableRegistry.getLobby().getSnapshot();
 
-		} else if (currentGames.size() < parameters.size()) {
-
-			for (GameType param : parameters) {
-
-				if (!repositoryGame.exist(param)) {
-					Game newGame = gameFactory.newGame(param);
-					newGame = repositoryGame.save(newGame);
-					currentGames.add(newGame);
-				}
-			}
-		}
-
-		currentGames = repositoryGame.getReadyOrNotGames();
-		JSONArray gamesStatus = new JSONArray();
-
-		for (Game game : currentGames)
-			gamesStatus.put(getGameStatus(game));
-
-		JSONObject json = new JSONObject();
-		updateJSON(json, STAT, OK);
+		if (snapshot.getData() == null)
+			snapshot.setData(getWaitingTablesList(snapshot));
 
-		updateJSON(json, "gamesStatus", gamesStatus);
+		if (snapshot.getTag().equals(knownTag))
+			return notModified(snapshot.getTag());
 
-		return buildResponse(json);
+		return buildResponse(snapshot.getData(), snapshot.getTag());
 	}
 
 	/**
@@ -238,24 +219,25 @@ public class GameService extends AbstractPokerService {
 			@PathParam("consumerKey") String consumerKey,
 			@PathParam("tableName") String tableName) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
-		Response resp = null;
-		Game currentGame = repositoryGame.load(tableName);
+		Table table = tableRegistry.getTable(tableName);
 
-		if (currentGame == null)
-			resp = error(ErrorMessage.GAME_NOT_EXIST);
+		if (table == null)
+			return error(ErrorMessage.GAME_NOT_EXIST);
 
-		else if (currentGame != null) {
-			if (currentGame.isStarted())
-				resp = error(ErrorMessage.GAME_ALREADY_STARTED);
-			else
-				resp = buildResponse(getGameStatus(currentGame));
-		}
+		return execute(table, new TableTask<Response>() {
 
-		return resp;
+			@Override
+			public Response run(Game currentGame) {
+
+				if (currentGame.isStarted())
+					return error(ErrorMessage.GAME_ALREADY_STARTED);
+				return buildResponse(getGameStatus(currentGame));
+			}
+		});
 	}
 
 	/**
@@ -270,34 +252,50 @@ public class GameService extends AbstractPokerService {
 			@PathParam("tableName") String tableName,
 			@PathParam("playerName") String playerName) {
 
-		JSONObject json = new JSONObject();
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		return getCurrentGameDataSince(consumerKey, tableName, playerName, 0);
+	}
+
+	/**
+	 * Returns the informations about the current game {@code tableName}
+	 * which have changed since the version {@code version} of the table. The
+	 * response only says {@code modified = false} if the game hasn't changed,
+	 * and has all the informations ({@code delta = false}) if the version is
+	 * too old or is 0.
+	 * 
+	 * @return
+	 */
+	@GET
+	@Path("/getCurrentGameData/{consumerKey}/{tableName}/{playerName}/{version}")
+	public Response getCurrentGameDataSince(
+			@PathParam("consumerKey") String consumerKey,
+			@PathParam("tableName") String tableName,
+			@PathParam("playerName") final String playerName,
+			@PathParam("version") final long version) {
+
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
-		Response resp = null;
+		final Table table = tableRegistry.getTable(tableName);
+		if (table == null)
+			return error(ErrorMessage.GAME_NOT_EXIST);
 
-		Player player = repositoryPlayer.load(playerName);
+		return executeRead(table, new TableTask<Response>() {
 
-		if (player == null)
-			return error(ErrorMessage.PLAYER_NOT_EXIST);
-		else if (!player.isInGame())
-			return error(ErrorMessage.PLAYER_NOT_CONNECTED);
+			@Override
+			public Response run(Game currentGame) {
 
-		Game currentGame = repositoryGame.load(tableName);
-		if (currentGame == null)
-			resp = error(ErrorMessage.GAME_NOT_EXIST);
+				Player player = currentGame.getPlayer(playerName);
 
-		else if (currentGame != null) {
+				if (player == null || !player.isInGame())
+					return error(ErrorMessage.PLAYER_NOT_CONNECTED);
+				else if (!currentGame.isStarted())
+					return error(ErrorMessage.GAME_NOT_READY_TO_START);
 
-			if (!currentGame.isStarted())
-				resp = error(ErrorMessage.GAME_NOT_READY_TO_START);
-			else {
-				json = getGameData(currentGame, player);
-				resp = buildResponse(json);
+				return buildResponse(getGameData(table, currentGame, player,
+						version));
 			}
-		}
-		return resp;
+		});
 	}
 
 	/**
@@ -318,44 +316,45 @@ public class GameService extends AbstractPokerService {
 
 		String tableName = infos[6];
 
-		JSONObject json = new JSONObject();
-		Game game = repositoryGame.load(tableName);
+		Table table = tableRegistry.getTable(tableName);
 
-		if (game == null)
+		if (table == null)
 			return error(ErrorMessage.GAME_NOT_EXIST);
-		else if (!game.isStarted())
-			return error(ErrorMessage.GAME_NOT_READY_TO_START);
 
-		List<Pot> winners = null;
+		return execute(table, new TableTask<Response>() {
 
-		try {
-			winners = game.showDown();
-			repositoryGame.update(game);
+			@Override
+			public Response run(Game game) {
 
-		} catch (GameException e) {
-			return error(e.getError());
-		}
+				if (!game.isStarted())
+					return error(ErrorMessage.GAME_NOT_READY_TO_START);
 
-		JSONArray jsonWinnersPot = new JSONArray();
+				List<Pot> winners = game.showDown();
 
-		for (Pot pot : winners) {
+				JSONArray jsonWinnersPot = new JSONArray();
 
-			for (Player player : pot.getPlayers()) {
+				for (Pot pot : winners) {
 
-				JSONObject jsonWinner = new JSONObject();
-				updateJSON(jsonWinner, "winner", player.getName());
-				updateJSON(jsonWinner, "cards", getCards(player.getBestHand()));
-				updateJSON(jsonWinner, "pot", pot.getValueReward());
-				updateJSON(jsonWinner, "idPot", pot.getId());
+					for (Player player : pot.getPlayers()) {
 
-				jsonWinnersPot.put(jsonWinner);
-			}
-		}
+						JSONObject jsonWinner = new JSONObject();
+						updateJSON(jsonWinner, "winner", player.getName());
+						updateJSON(jsonWinner, "cards",
+								getCards(player.getBestHand()));
+						updateJSON(jsonWinner, "pot", pot.getValueReward());
+						updateJSON(jsonWinner, "idPot", pot.getId());
 
-		updateJSON(json, STAT, OK);
-		updateJSON(json, "winners", jsonWinnersPot);
+						jsonWinnersPot.put(jsonWinner);
+					}
+				}
 
-		return buildResponse(json);
+				JSONObject json = new JSONObject();
+				updateJSON(json, STAT, OK);
+				updateJSON(json, "winners", jsonWinnersPot);
+
+				return buildResponse(json);
+			}
+		});
 	}
 
 	/***********************
@@ -384,11 +383,6 @@ public class GameService extends AbstractPokerService {
 		if (currentGame.isReady()) {
 
 			currentGame.start();
-			// startTimerUpdateBlinds(currentGame);
-			repositoryGame.update(currentGame);
-
-			System.out.println("GAME SERVICE AFTER TIMER");
-
 			updateJSON(json, "startGame", true);
 
 		} else if (currentGame.isStarted())
@@ -411,16 +405,114 @@ public class GameService extends AbstractPokerService {
 	}
 
 	/**
-	 * build the data of the game (all informations)
+	 * Returns the list of the games of a snapshot of the lobby
+	 */
+	private JSONObject getWaitingTablesList(LobbySnapshot snapshot) {
+
+		JSONArray gamesStatus = new JSONArray();
+
+		for (LobbyEntry entry : snapshot.getEntries())
+			gamesStatus.put(getGameStatus(entry));
+
+		JSONObject json = new JSONObject();
+		updateJSON(json, STAT, OK);
+
+		updateJSON(json, "gamesStatus", gamesStatus);
+
+		return json;
+	}
+
+	/**
+	 * Returns the status of a game of the lobby
+	 */
+	private JSONObject getGameStatus(LobbyEntry entry) {
+
+		JSONObject json = new JSONObject();
+
+		updateJSON(json, "startGame", false);
+		updateJSON(json, "playersNames", entry.getPlayersNames());
+		updateJSON(json, "tableName", entry.getTableName());
+		updateJSON(json, "gameTypeName", entry.getGameTypeName());
+		updateJSON(json, "buyIn", entry.getBuyIn());
+		updateJSON(json, "playerBudget", entry.getPlayerBudget());
+		updateJSON(json, "bigBlind", entry.getBigBlind());
+		updateJSON(json, "smallBlind", entry.getSmallBlind());
+		updateJSON(json, "prizePool", entry.getPrizePool());
+		updateJSON(json, "seats", entry.getCapacity());
+		updateJSON(json, STAT, OK);
+
+		return json;
+	}
+
+	/**
+	 * build the data of the game seen by a player, only the informations
+	 * changed since the version known by the player if it is still kept
 	 * 
 	 * @return
 	 * 
 	 */
-	private JSONObject getGameData(Game currentGame, Player selectedPlayer) {
+	private JSONObject getGameData(Table table, Game currentGame,
+			Player selectedPlayer, long knownVersion) {
+
+		long version = table.getVersion();
+		TableSnapshots snapshots = table.getSnapshots();
+
+		JSONObject current = snapshots.get(version);
+		if (current == null) {
+			current = getGameData(currentGame);
+			snapshots.put(version, current);
+		}
 
 		JSONObject json = new JSONObject();
 		updateJSON(json, STAT, OK);
+		updateJSON(json, "version", version);
+
+		if (knownVersion == version) {
+			updateJSON(json, "modified", false);
+			return json;
+		}
+
+		JSONObject known = knownVersion == 0 ? null : snapshots
+				.get(knownVersion);
+
+		Iterator<?> keys = current.keys();
+		while (keys.hasNext()) {
+
+			String key = (String) keys.next();
+			Object value = current.opt(key);
+
+			if (known == null
+					|| !String.valueOf(value).equals(
+							String.valueOf(known.opt(key))))
+				updateJSON(json, key, value);
+		}
+
+		// the cards of the player only change with the hand
+		if (known == null || json.has("hand")) {
+
+			List<Integer> cards = new ArrayList<Integer>();
+			for (Card card : selectedPlayer.getCurrentHand().getCards())
+				cards.add(card.getId());
+
+			updateJSON(json, "userCards", cards);
+		}
+
+		updateJSON(json, "modified", true);
+		updateJSON(json, "delta", known != null);
+		return json;
+	}
 
+	/**
+	 * build the data of the game (all informations) shared by its players
+	 * 
+	 * @return
+	 * 
+	 */
+	private JSONObject getGameData(Game currentGame) {
+
+		JSONObject json = new JSONObject();
+
+		updateJSON(json, "hand", currentGame.getHandNumber());
 		updateJSON(json, "tableName", currentGame.getName());
 		updateJSON(json, "bigBlind", currentGame.getBigBlind());
 		updateJSON(json, "smallBlind", currentGame.getSmallBlind());
@@ -455,12 +547,6 @@ public class GameService extends AbstractPokerService {
 		updateJSON(flippedCardsJson, "state", currentGame.getCurrentRound());
 		updateJSON(json, "flippedCards", flippedCardsJson);
 
-		List<Integer> cards = new ArrayList<Integer>();
-		for (Card card : selectedPlayer.getCurrentHand().getCards())
-			cards.add(card.getId());
-
-		updateJSON(json, "userCards", cards);
-
 		updateJSON(json, "pots", currentGame.getPots());
 		updateJSON(json, "totalPot", currentGame.getTotalPot());
 
@@ -555,12 +641,4 @@ public class GameService extends AbstractPokerService {
 				consumerKey, signature, repositoryConsumer,
 				repositoryAccessToken);
 	}
-
-	/**
-	 * Updates Blinds
-	 */
-	@SuppressWarnings("unused")
-	private void startTimerUpdateBlinds(Game currentGame) {
-		new Thread(new TimerUpdateBlinds(currentGame, repositoryGame)).start();
-	}
 }
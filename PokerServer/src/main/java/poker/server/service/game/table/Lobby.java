@@ -0,0 +1,158 @@
+package poker.server.service.game.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import poker.server.model.game.Game;
+
+/**
+ * The games waiting for players or ready to start, kept in memory. Each table
+ * updates its entry when a player joins or leaves its game, or when the game
+ * starts, so the lobby is listed without reading the database.
+ * <p>
+ * Each change of an entry gives a new version of the lobby. The clients are
+ * served a snapshot of the lobby, built again only after a change: between
+ * two changes, all the clients get the same snapshot. The listener of the
+ * lobby, if any, is told after each change.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see LobbyEntry
+ * @see LobbySnapshot
+ * @see Table
+ */
+public class Lobby {
+
+	private final ConcurrentMap<String, LobbyEntry> entries = new ConcurrentHashMap<String, LobbyEntry>();
+
+	// changed after the entries, a snapshot never claims a missing change
+	private final AtomicLong version = new AtomicLong(1);
+	private volatile LobbySnapshot snapshot = new LobbySnapshot(0,
+			new ArrayList<LobbyEntry>());
+
+	private volatile Runnable listener;
+
+	/**
+	 * Update the entry of a game, called by the table of the game. A game
+	 * which is started or ended leaves the lobby.
+	 * 
+	 * @param game
+	 *            the game of the table
+	 */
+	public void update(Game game) {
+
+		if (game.isWaiting() || game.isReady()) {
+			entries.put(game.getName(), new LobbyEntry(game));
+			changed();
+		} else
+			remove(game.getName());
+	}
+
+	/**
+	 * Remove the entry of a game.
+	 * 
+	 * @param tableName
+	 *            the name of the game
+	 */
+	public void remove(String tableName) {
+
+		if (entries.remove(tableName) != null)
+			changed();
+	}
+
+	/**
+	 * 
+	 * @param lobbyListener
+	 *            run after each change of the lobby, by the thread changing it
+	 */
+	public void setListener(Runnable lobbyListener) {
+		listener = lobbyListener;
+	}
+
+	/**
+	 * 
+	 * @return the version of the lobby, changed after each change of an entry
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Return the snapshot of the current version of the lobby, built if the
+	 * lobby has changed since the last one.
+	 * 
+	 * @return the snapshot of the lobby
+	 */
+	public LobbySnapshot getSnapshot() {
+
+		LobbySnapshot last = snapshot;
+		long current = version.get();
+
+		if (last.getVersion() == current)
+			return last;
+
+		LobbySnapshot built = new LobbySnapshot(current, getEntries());
+		if (built.getVersion() > snapshot.getVersion())
+			snapshot = built;
+		return built;
+	}
+
+	/**
+	 * 
+	 * @return the entries of the games waiting for players or ready to start
+	 */
+	public List<LobbyEntry> getEntries() {
+		return new ArrayList<LobbyEntry>(entries.values());
+	}
+
+	/**
+	 * 
+	 * @param gameTypeName
+	 *            the name of a type of game
+	 * @return true if a game of this type is waiting for players
+	 */
+	public boolean hasWaitingGame(String gameTypeName) {
+
+		for (LobbyEntry entry : entries.values()) {
+			if (entry.isWaiting()
+					&& entry.getGameTypeName().equals(gameTypeName))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 
+	 * @param gameTypeName
+	 *            the name of a type of game
+	 * @return the number of games of this type waiting for their first player
+	 */
+	public int countEmptyGames(String gameTypeName) {
+
+		int count = 0;
+		for (LobbyEntry entry : entries.values()) {
+			if (entry.isWaiting() && entry.getPlayersNames().isEmpty()
+					&& entry.getGameTypeName().equals(gameTypeName))
+				++count;
+		}
+		return count;
+	}
+
+	private void changed() {
+
+		version.incrementAndGet();
+
+		Runnable lobbyListener = listener;
+		if (lobbyListener != null)
+			lobbyListener.run();
+	}
+}
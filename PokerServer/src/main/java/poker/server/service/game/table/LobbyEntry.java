@@ -0,0 +1,112 @@
+package poker.server.service.game.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import poker.server.model.game.Game;
+import poker.server.model.game.parameters.GameType;
+import poker.server.model.player.Player;
+
+/**
+ * What the lobby shows of a game waiting for its players. An entry is a copy
+ * of the game taken by its table, and is never modified: the lobby can be
+ * read by any thread while the game is played.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Lobby
+ */
+public class LobbyEntry {
+
+	private final String tableName;
+	private final String gameTypeName;
+	private final int buyIn;
+	private final int playerBudget;
+	private final int bigBlind;
+	private final int smallBlind;
+	private final int prizePool;
+	private final int capacity;
+	private final int status;
+	private final List<String> playersNames;
+
+	/**
+	 * Copy the informations of a game shown in the lobby.
+	 * 
+	 * @param game
+	 *            a game, only read by the calling thread
+	 */
+	public LobbyEntry(Game game) {
+
+		GameType gameType = game.getGameType();
+
+		tableName = game.getName();
+		gameTypeName = gameType.getName();
+		buyIn = gameType.getBuyIn();
+		playerBudget = gameType.getTokens();
+		bigBlind = game.getBigBlind();
+		smallBlind = game.getSmallBlind();
+		prizePool = game.getPrizePool();
+		capacity = gameType.getPlayerNumber();
+		status = game.getStatus();
+
+		List<String> names = new ArrayList<String>();
+		for (Player player : game.getPlayers())
+			names.add(player.getName());
+		playersNames = Collections.unmodifiableList(names);
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public String getGameTypeName() {
+		return gameTypeName;
+	}
+
+	public int getBuyIn() {
+		return buyIn;
+	}
+
+	public int getPlayerBudget() {
+		return playerBudget;
+	}
+
+	public int getBigBlind() {
+		return bigBlind;
+	}
+
+	public int getSmallBlind() {
+		return smallBlind;
+	}
+
+	public int getPrizePool() {
+		return prizePool;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public List<String> getPlayersNames() {
+		return playersNames;
+	}
+
+	/**
+	 * 
+	 * @return true if the game is waiting for players
+	 */
+	public boolean isWaiting() {
+		return status == Game.WAITING;
+	}
+}
@@ -0,0 +1,85 @@
+package poker.server.service.game.table;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONObject;
+
+/**
+ * The lobby as it was at one version, it never changes once built. All the
+ * clients opening the lobby share the same snapshot until a game joins or
+ * leaves the lobby, and its data is built only once, by the first client
+ * asking for it.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Lobby
+ */
+public class LobbySnapshot {
+
+	private final long version;
+	private final List<LobbyEntry> entries;
+
+	// built from the entries, the same data whichever client builds it
+	private volatile JSONObject data;
+
+	/**
+	 * Constructor with parameters.
+	 * 
+	 * @param versioN
+	 *            the version of the lobby
+	 * @param entrieS
+	 *            the entries of the lobby at this version
+	 */
+	public LobbySnapshot(long versioN, List<LobbyEntry> entrieS) {
+		version = versioN;
+		entries = Collections.unmodifiableList(entrieS);
+	}
+
+	/**
+	 * 
+	 * @return the version of the lobby
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * 
+	 * @return the tag of this version, sent to the clients as ETag
+	 */
+	public String getTag() {
+		return "\"lobby-" + version + "\"";
+	}
+
+	/**
+	 * 
+	 * @return the entries of the games waiting for players or ready to start
+	 */
+	public List<LobbyEntry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * 
+	 * @return the data sent to the clients, null if it isn't built yet
+	 */
+	public JSONObject getData() {
+		return data;
+	}
+
+	/**
+	 * 
+	 * @param datA
+	 *            the data sent to the clients, built from the entries
+	 */
+	public void setData(JSONObject datA) {
+		data = datA;
+	}
+}
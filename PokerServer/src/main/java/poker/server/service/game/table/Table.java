@@ -0,0 +1,668 @@
+package poker.server.service.game.table;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import poker.server.infrastructure.RepositoryGame;
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.GameException;
+import poker.server.model.game.Event;
+import poker.server.model.game.EventJournal;
+import poker.server.model.game.Game;
+import poker.server.model.game.Pot;
+import poker.server.model.player.Hand;
+import poker.server.model.player.Player;
+import poker.server.service.game.timer.Deadline;
+import poker.server.service.game.timer.TimingWheel;
+import poker.server.service.player.PlayerCommand;
+import poker.server.service.player.PlayerService;
+
+/**
+ * A table is a game kept in memory, which is the reference of the game while
+ * it is played. All the tasks reading or modifying the game are run one after
+ * the other, by one thread at a time taken from the workers shared by all the
+ * tables, so the game never needs a lock. The mailbox of the table is
+ * bounded: a table too busy refuses the new tasks instead of delaying all the
+ * others.
+ * <p>
+ * Each task submitted gives a new version of the table, the read-only tasks
+ * don't. The clients use it to know if the game has changed since their
+ * last request.
+ * <p>
+ * The entry of the game in the lobby is updated when a player joins or
+ * leaves, or when the game starts.
+ * <p>
+ * The clients waiting for the next events of the game are woken up when a
+ * task has added events to the journal, a table where nothing happens costs
+ * nothing to its waiting clients.
+ * <p>
+ * The game is written in the database behind the players' actions: after a
+ * task, if a new hand has been dealt, or if the status or the seats of the
+ * game have changed, a flush of the game is queued after the pending tasks.
+ * The flush copies the game, and the copy is written by the writers shared
+ * by the tables, so the actions never wait for the database. A table writes
+ * one copy at a time, and a copy not written is written again
+ * FLUSH_RETRY_DELAY seconds later.
+ * <p>
+ * Once the game is started, its blinds are raised every
+ * {@code getTimeChangeBlind()} seconds of its type, by a task queued by the
+ * timing wheel of the registry.
+ * <p>
+ * The turn of a player lasts {@code getSpeakTime()} seconds of the type of
+ * the game: the clock is armed each time the turn moves, and when it expires
+ * the player checks if he can, or folds, like with his own command. A player
+ * whose turn expires MISSED_TURNS times in a row is set as missing.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see TableRegistry
+ * @see TimingWheel
+ * @see Game
+ */
+public class Table {
+
+	private static final Logger LOGGER = Logger
+			.getLogger(Table.class.getName());
+
+	// tasks run before giving the worker back to the other tables
+	private static final int TASKS_PER_TURN = 64;
+
+	// tasks waiting in the mailbox before the table refuses new ones
+	public static final int MAILBOX_CAPACITY = 1024;
+
+	// turns expired in a row before a player is set as missing
+	public static final int MISSED_TURNS = 2;
+
+	// seconds before a copy of the game not written is written again
+	public static final int FLUSH_RETRY_DELAY = 5;
+
+	private final Game game;
+	private final Executor workers;
+	private final Executor writers;
+	private final RepositoryGame repositoryGame;
+	private final TableRegistryLocal registry;
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+	private final AtomicInteger pending = new AtomicInteger(0);
+
+	// only written by the task running, never 0
+	private volatile long version = 1;
+	private final TableSnapshots snapshots = new TableSnapshots();
+
+	// only read and written by the task running. The game is flushed from
+	// the queue of the flush until its copy is written.
+	private int flushedHand;
+	private int flushedStatus;
+	private int flushedSeats;
+	private boolean flushQueued;
+	private boolean writing;
+	private boolean writeAgain;
+	private long signalledEvent;
+	private int lobbyStatus;
+	private int lobbySeats;
+	private Deadline blindsDeadline;
+
+	// the turn being timed: its id, its player and the last event when it
+	// began. The id is changed at each new turn, the expired clocks of the
+	// previous turns are ignored.
+	private Deadline speakDeadline;
+	private long turn;
+	private String turnPlayer;
+	private long turnEvent;
+	private boolean turnExpired;
+	private final Map<String, Integer> missedTurns = new HashMap<String, Integer>();
+
+	// the clients waiting for new events wait on this monitor
+	private final Object eventsMonitor = new Object();
+
+	private final Runnable runTasks = new Runnable() {
+
+		@Override
+		public void run() {
+			try {
+				Runnable task;
+				for (int i = 0; i < TASKS_PER_TURN
+						&& (task = tasks.poll()) != null; ++i) {
+					runTask(task);
+				}
+			} finally {
+				scheduled.set(false);
+				if (!tasks.isEmpty())
+					schedule();
+			}
+		}
+	};
+
+	private final Runnable flush = new Runnable() {
+
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	// run by the thread of the timing wheel
+	private final Runnable flushExpired = new Runnable() {
+
+		@Override
+		public void run() {
+			execute(flush);
+		}
+	};
+
+	private final Runnable raiseBlinds = new Runnable() {
+
+		@Override
+		public void run() {
+
+			blindsDeadline = null;
+			if (!game.isStarted())
+				return;
+
+			// the new blinds don't give more time to the player
+			boolean timed = turnEvent == game.getEvents().getLastSequence();
+			game.updateBlind();
+			if (timed)
+				turnEvent = game.getEvents().getLastSequence();
+
+			++version;
+			scheduleBlinds();
+		}
+	};
+
+	// run by the thread of the timing wheel
+	private final Runnable blindsExpired = new Runnable() {
+
+		@Override
+		public void run() {
+			execute(raiseBlinds);
+		}
+	};
+
+	/**
+	 * Constructor with parameters.
+	 *
+	 * @param gamE
+	 *            the game played at the table, already saved
+	 * @param workerS
+	 *            the threads running the tasks of the tables
+	 * @param writerS
+	 *            the threads writing the copies of the games
+	 * @param repository
+	 *            the repository where the game is written
+	 * @param tableRegistry
+	 *            the registry of the table, told when the game is ended
+	 */
+	public Table(Game gamE, Executor workerS, Executor writerS,
+			RepositoryGame repository, TableRegistryLocal tableRegistry) {
+
+		game = gamE;
+		workers = workerS;
+		writers = writerS;
+		repositoryGame = repository;
+		registry = tableRegistry;
+
+		flushedHand = game.getHandNumber();
+		flushedStatus = game.getStatus();
+		flushedSeats = game.getPlayers().size();
+		signalledEvent = game.getEvents().getLastSequence();
+
+		updateLobby();
+		if (game.isStarted())
+			scheduleBlinds();
+		updateTurnClock();
+	}
+
+	/**
+	 *
+	 * @return the name of the table, which is the name of its game
+	 */
+	public String getName() {
+		return game.getName();
+	}
+
+	/**
+	 *
+	 * @return the version of the game, changed after each task modifying it
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 *
+	 * @return the snapshots of the last versions, only used by the tasks
+	 */
+	public TableSnapshots getSnapshots() {
+		return snapshots;
+	}
+
+	/**
+	 * Run a task on the game, after the tasks already submitted. The version
+	 * of the table is changed after the task.
+	 *
+	 * @param task
+	 *            a task modifying the game
+	 * @return the future result of the task, which can only be cancelled
+	 *         before the task starts
+	 * @exception GameException
+	 *                if the mailbox of the table is full
+	 */
+	public <T> Future<T> submit(TableTask<T> task) {
+		return submit(task, true);
+	}
+
+	/**
+	 * Run a task on the game, after the tasks already submitted. The version
+	 * of the table is kept.
+	 *
+	 * @param task
+	 *            a task only reading the game
+	 * @return the future result of the task, which can only be cancelled
+	 *         before the task starts
+	 * @exception GameException
+	 *                if the mailbox of the table is full
+	 */
+	public <T> Future<T> read(TableTask<T> task) {
+		return submit(task, false);
+	}
+
+	private <T> Future<T> submit(TableTask<T> task, boolean modifying) {
+
+		if (pending.incrementAndGet() > MAILBOX_CAPACITY) {
+			pending.decrementAndGet();
+			throw new GameException(ErrorMessage.TABLE_NOT_AVAILABLE);
+		}
+
+		final TableTask<T> tableTask = task;
+		final boolean newVersion = modifying;
+		final FutureTask<T> future = new TableFuture<T>(new Callable<T>() {
+
+			@Override
+			public T call() throws Exception {
+				return tableTask.run(game);
+			}
+		});
+
+		execute(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					future.run();
+				} finally {
+					if (newVersion)
+						++version;
+					pending.decrementAndGet();
+				}
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * 
+	 * @return the number of tasks submitted and not run yet
+	 */
+	public int getPendingTasks() {
+		return pending.get();
+	}
+
+	/**
+	 * Queue a flush of the game, after the tasks already submitted.
+	 */
+	public void requestFlush() {
+		execute(flush);
+	}
+
+	/**
+	 * Wait for the events of the game following a given one. The events
+	 * already in the journal are returned without waiting.
+	 * 
+	 * @param sequence
+	 *            the sequence number of the last event known by the client, an
+	 *            unknown sequence number gives all the events kept
+	 * @param timeout
+	 *            the maximum time to wait, in milliseconds
+	 * @return the following events, empty if there was none before the
+	 *         timeout
+	 * @exception InterruptedException
+	 *                if the waiting thread is interrupted
+	 */
+	public List<Event> awaitEventsSince(long sequence, long timeout)
+			throws InterruptedException {
+
+		EventJournal events = game.getEvents();
+
+		if (sequence > events.getLastSequence())
+			sequence = 0;
+
+		long deadline = System.currentTimeMillis() + timeout;
+
+		synchronized (eventsMonitor) {
+			while (events.getLastSequence() <= sequence) {
+
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0)
+					break;
+				eventsMonitor.wait(remaining);
+			}
+		}
+		return events.getEventsSince(sequence);
+	}
+
+	private void execute(Runnable task) {
+		tasks.add(task);
+		schedule();
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true))
+			workers.execute(runTasks);
+	}
+
+	private void runTask(Runnable task) {
+
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.SEVERE, "task failed on table " + getName(), e);
+		}
+
+		long lastEvent = game.getEvents().getLastSequence();
+		if (lastEvent != signalledEvent) {
+			signalledEvent = lastEvent;
+			synchronized (eventsMonitor) {
+				eventsMonitor.notifyAll();
+			}
+		}
+
+		if (game.getStatus() != lobbyStatus
+				|| game.getPlayers().size() != lobbySeats) {
+			updateLobby();
+			if (game.isStarted() && blindsDeadline == null)
+				scheduleBlinds();
+		}
+
+		updateTurnClock();
+
+		if (!flushQueued && isAtBoundary()) {
+			flushQueued = true;
+			tasks.add(flush);
+		}
+	}
+
+	private void updateLobby() {
+
+		lobbyStatus = game.getStatus();
+		lobbySeats = game.getPlayers().size();
+		registry.getLobby().update(game);
+	}
+
+	private void scheduleBlinds() {
+
+		int delay = game.getGameType().getTimeChangeBlind();
+		if (delay > 0)
+			blindsDeadline = registry.getTimingWheel().schedule(blindsExpired,
+					delay, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Arm the clock of the current player if the turn has moved since the
+	 * last task. The player of the last turn is forgiven his missed turns if
+	 * he has played before his clock expired.
+	 */
+	private void updateTurnClock() {
+
+		String player = null;
+		if (game.isStarted() && game.getCurrentRound() != Game.SHOWDOWN)
+			player = game.getCurrentPlayer().getName();
+
+		long lastEvent = game.getEvents().getLastSequence();
+		if (lastEvent == turnEvent
+				&& (player == null ? turnPlayer == null : player
+						.equals(turnPlayer)))
+			return;
+
+		if (turnPlayer != null && !turnExpired)
+			missedTurns.remove(turnPlayer);
+		if (speakDeadline != null)
+			speakDeadline.cancel();
+
+		speakDeadline = null;
+		++turn;
+		turnPlayer = player;
+		turnEvent = lastEvent;
+		turnExpired = false;
+
+		int delay = game.getGameType().getSpeakTime();
+		if (player != null && delay > 0)
+			speakDeadline = registry.getTimingWheel().schedule(
+					new SpeakTimeExpired(turn), delay, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Play for the player whose turn has expired: check if he can, fold
+	 * otherwise.
+	 */
+	private void expireTurn(long expiredTurn) {
+
+		if (expiredTurn != turn || turnPlayer == null)
+			return;
+
+		Player player = game.getPlayer(turnPlayer);
+		if (player == null)
+			return;
+
+		turnExpired = true;
+		Integer missed = missedTurns.get(turnPlayer);
+		missed = missed == null ? 1 : missed + 1;
+		missedTurns.put(turnPlayer, missed);
+
+		++version;
+
+		// a missing player can't send commands any more
+		if (player.isMissing()) {
+			player.fold();
+			return;
+		}
+
+		int action = player.getCurrentBet() == game.getCurrentBet() ? PlayerService.CHECK
+				: PlayerService.FOLD;
+		new PlayerCommand(turnPlayer, action, 0).run(game);
+
+		if (missed >= MISSED_TURNS)
+			new PlayerCommand(turnPlayer, PlayerService.MISSING, 0).run(game);
+	}
+
+	private boolean isAtBoundary() {
+		return game.getHandNumber() != flushedHand
+				|| game.getStatus() != flushedStatus
+				|| game.getPlayers().size() != flushedSeats;
+	}
+
+	/**
+	 * Give a copy of the game to the writers, unless a copy is being written:
+	 * the game is then copied again once it is written.
+	 */
+	private void flush() {
+
+		if (writing) {
+			writeAgain = true;
+			return;
+		}
+
+		writing = true;
+		writers.execute(new GameWrite());
+	}
+
+	/**
+	 * Take the result of the write of a copy of the game. The game is only
+	 * known as flushed once written, a copy not written is written again
+	 * later, with the state of the game at that time.
+	 */
+	private void written(GameWrite write) {
+
+		writing = false;
+
+		if (!write.written) {
+			writeAgain = false;
+			registry.getTimingWheel().schedule(flushExpired,
+					FLUSH_RETRY_DELAY, TimeUnit.SECONDS);
+			return;
+		}
+
+		flushedHand = write.hand;
+		flushedStatus = write.status;
+		flushedSeats = write.seats;
+		write.giveIdsBack();
+
+		if (writeAgain) {
+			writeAgain = false;
+			tasks.add(flush);
+		} else
+			flushQueued = false;
+
+		if (write.status == Game.ENDED) {
+			if (blindsDeadline != null)
+				blindsDeadline.cancel();
+			if (speakDeadline != null)
+				speakDeadline.cancel();
+			registry.release(getName());
+		}
+	}
+
+	/**
+	 * The future result of a task. A started task is always played to the
+	 * end, so the task can only be cancelled before it starts: a client told
+	 * that its task is cancelled knows it hasn't changed the game.
+	 */
+	private static final class TableFuture<T> extends FutureTask<T> {
+
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		TableFuture(Callable<T> callable) {
+			super(callable);
+		}
+
+		@Override
+		public void run() {
+			if (started.compareAndSet(false, true))
+				super.run();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return started.compareAndSet(false, true)
+					&& super.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	/**
+	 * A copy of the game, made by the task running, and written by a thread
+	 * of the writers. The ids generated for the new hands and pots of the
+	 * copy are given back to those of the game still without an id, by a
+	 * task of the table.
+	 */
+	private class GameWrite implements Runnable {
+
+		private final Game copy = game.copy();
+		private final int hand = game.getHandNumber();
+		private final int status = game.getStatus();
+		private final int seats = game.getPlayers().size();
+
+		// the hands and the pots of the game, in the order of the copy
+		private final List<Hand> hands = new ArrayList<Hand>();
+		private final List<Pot> pots = new ArrayList<Pot>(game.getSplitPots());
+
+		private boolean written;
+
+		GameWrite() {
+			for (Player player : game.getPlayers())
+				hands.add(player.getCurrentHand());
+		}
+
+		@Override
+		public void run() {
+
+			try {
+				repositoryGame.update(copy);
+				written = true;
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "flush failed on table " + getName(),
+						e);
+			}
+
+			try {
+				execute(new Runnable() {
+
+					@Override
+					public void run() {
+						written(GameWrite.this);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// the workers are stopped with the server
+			}
+		}
+
+		void giveIdsBack() {
+
+			for (int i = 0; i < hands.size(); ++i) {
+				Hand copied = copy.getPlayers().get(i).getCurrentHand();
+				if (hands.get(i) != null && hands.get(i).getId() == 0)
+					hands.get(i).setId(copied.getId());
+			}
+
+			for (int i = 0; i < pots.size(); ++i) {
+				if (pots.get(i).getId() == 0)
+					pots.get(i).setId(copy.getSplitPots().get(i).getId());
+			}
+		}
+	}
+
+	/**
+	 * Run by the thread of the timing wheel when the turn of a player
+	 * expires, the turn is played by a task of the table.
+	 */
+	private class SpeakTimeExpired implements Runnable {
+
+		private final long expiredTurn;
+
+		SpeakTimeExpired(long turN) {
+			expiredTurn = turN;
+		}
+
+		@Override
+		public void run() {
+			execute(new Runnable() {
+
+				@Override
+				public void run() {
+					expireTurn(expiredTurn);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package poker.server.service.game.table;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import poker.server.infrastructure.RepositoryGameType;
+import poker.server.model.game.GameFactoryLocal;
+import poker.server.model.game.parameters.GameType;
+import poker.server.model.game.parameters.SitAndGo;
+
+/**
+ * Keeps a given number of empty tables in the lobby for each type of game.
+ * The lobby asks for a refill each time it changes, and the missing tables
+ * are created and saved by a thread of their own: the clients opening the
+ * lobby or joining a game never wait for a new game to be built.
+ * <p>
+ * The refills asked while one is running are merged in one more refill.
+ * <p>
+ * The cached types of game only give the types to fill. Each new game gets
+ * its own copy of its type, loaded from the database, because the game
+ * counts itself in its type and the type is written with the game.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Lobby
+ * @see TableRegistry
+ */
+public class TableProvisioner {
+
+	private static final Logger LOGGER = Logger
+			.getLogger(TableProvisioner.class.getName());
+
+	// empty tables kept in the lobby for each type of game
+	public static final int DEFAULT_POOL_SIZE = 1;
+
+	private final TableRegistryLocal registry;
+	private final GameFactoryLocal gameFactory;
+	private final RepositoryGameType repositoryGameType;
+	private final Executor executor;
+	private final int poolSize;
+
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+	private final Runnable runRefill = new Runnable() {
+
+		@Override
+		public void run() {
+
+			// a change of the lobby from now on asks for one more refill
+			scheduled.set(false);
+
+			try {
+				refill();
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.SEVERE, "refill of the lobby failed", e);
+			}
+		}
+	};
+
+	/**
+	 * Constructor with parameters.
+	 * 
+	 * @param tableRegistry
+	 *            the registry where the new games are registered
+	 * @param factory
+	 *            the factory building the new games
+	 * @param repository
+	 *            the repository of the types of game
+	 * @param executoR
+	 *            the thread running the refills
+	 * @param poolSizE
+	 *            the number of empty tables kept for each type of game
+	 */
+	public TableProvisioner(TableRegistryLocal tableRegistry,
+			GameFactoryLocal factory, RepositoryGameType repository,
+			Executor executoR, int poolSizE) {
+
+		registry = tableRegistry;
+		gameFactory = factory;
+		repositoryGameType = repository;
+		executor = executoR;
+		poolSize = poolSizE;
+	}
+
+	/**
+	 * Ask for a refill of the lobby, run later by the thread of the
+	 * provisioner.
+	 */
+	public void requestRefill() {
+		if (scheduled.compareAndSet(false, true))
+			executor.execute(runRefill);
+	}
+
+	/**
+	 * Register the new games missing in the lobby, for each type of game.
+	 */
+	public void refill() {
+
+		Lobby lobby = registry.getLobby();
+		List<GameType> parameters = repositoryGameType.loadAllCached();
+
+		if (parameters.size() == 0) {
+			// by default if there is not a default parameter, create manually a
+			// game with this default parameter
+			fill(lobby, new SitAndGo().getName(), null);
+
+		} else {
+
+			for (GameType param : parameters)
+				fill(lobby, param.getName(), param);
+		}
+	}
+
+	private void fill(Lobby lobby, String gameTypeName, GameType param) {
+
+		// counted again after each game, in case of a refill run meanwhile
+		for (int i = 0; i < poolSize
+				&& lobby.countEmptyGames(gameTypeName) < poolSize; ++i) {
+
+			if (param == null) {
+				registry.register(gameFactory.newGame());
+				continue;
+			}
+
+			GameType gameType = repositoryGameType.load(gameTypeName);
+			if (gameType == null)
+				return;
+			registry.register(gameFactory.newGame(gameType));
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package poker.server.service.game.table;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+
+import poker.server.infrastructure.RepositoryGame;
+import poker.server.infrastructure.RepositoryGameType;
+import poker.server.model.game.Game;
+import poker.server.model.game.GameFactoryLocal;
+import poker.server.service.game.timer.TimingWheel;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Keeps the games being played in memory, each one in its table. The tables
+ * share a pool of workers, one per processor, and a table uses one worker at
+ * a time. The copies of the games are written in the database by a pool of
+ * writers of their own, so a slow write never holds a worker. The games waiting for players are loaded at the start, so the
+ * lobby knows all of them, and a provisioner keeps empty tables of each type
+ * of game in the lobby, created by a thread of its own. The deadlines of all
+ * the tables are kept by one timing wheel, turned by one thread.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Table
+ * @see TableProvisioner
+ * @see TimingWheel
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class TableRegistry implements TableRegistryLocal {
+
+	private static final int SHUTDOWN_TIMEOUT = 30;
+
+	// threads writing the copies of the games, mostly waiting for the database
+	private static final int WRITER_THREADS = 4;
+
+	// games read at once when the tables are loaded again at the start
+	private static final int LOAD_PAGE = 100;
+
+	@EJB
+	private RepositoryGame repositoryGame;
+
+	@EJB
+	private RepositoryGameType repositoryGameType;
+
+	@EJB
+	private GameFactoryLocal gameFactory;
+
+	private final ConcurrentMap<String, Table> tables = new ConcurrentHashMap<String, Table>();
+
+	// name of a game -> its loading, while it is loaded from the database
+	private final ConcurrentMap<String, FutureTask<Table>> loadings = new ConcurrentHashMap<String, FutureTask<Table>>();
+
+	// name of a player -> name of the table where he is seated
+	private final ConcurrentMap<String, String> seats = new ConcurrentHashMap<String, String>();
+
+	private final Lobby lobby = new Lobby();
+
+	private final TimingWheel timingWheel = new TimingWheel(
+			TimingWheel.DEFAULT_TICK, TimeUnit.MILLISECONDS,
+			TimingWheel.DEFAULT_SIZE);
+
+	// Java EE 6 has no executor managed by the container. The threads of
+	// these pools, like the one of the timing wheel, only reach the database
+	// through the @EJB proxies of the repositories, which the container
+	// intercepts on any thread of AS7: each call runs in its own transaction
+	// and persistence context. They never look up JNDI nor use the security
+	// context of a caller.
+	private ExecutorService workers;
+	private ExecutorService writers;
+	private ExecutorService provisionerThread;
+
+	@PostConstruct
+	public void startWorkers() {
+		workers = Executors.newFixedThreadPool(Runtime.getRuntime()
+				.availableProcessors());
+		writers = Executors.newFixedThreadPool(WRITER_THREADS);
+		timingWheel.start();
+
+		String after = null;
+		List<Game> games;
+		do {
+			games = repositoryGame.getReadyOrNotGames(after, LOAD_PAGE);
+			for (Game game : games)
+				getTable(game.getName());
+
+			if (!games.isEmpty())
+				after = games.get(games.size() - 1).getName();
+		} while (games.size() == LOAD_PAGE);
+
+		provisionerThread = Executors.newSingleThreadExecutor();
+		final TableProvisioner provisioner = new TableProvisioner(this,
+				gameFactory, repositoryGameType, provisionerThread,
+				TableProvisioner.DEFAULT_POOL_SIZE);
+
+		lobby.setListener(new Runnable() {
+
+			@Override
+			public void run() {
+				provisioner.requestRefill();
+			}
+		});
+		provisioner.requestRefill();
+	}
+
+	@PreDestroy
+	public void stopWorkers() {
+
+		lobby.setListener(null);
+		provisionerThread.shutdownNow();
+		timingWheel.stop();
+
+		for (Table table : tables.values())
+			table.requestFlush();
+
+		// the last copies are queued to the writers by the workers
+		workers.shutdown();
+		try {
+			workers.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+			writers.shutdown();
+			writers.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			writers.shutdown();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * A new table starts at once to update the lobby and to time its game, so
+	 * only one table is built for a game: the clients asking for a game being
+	 * loaded wait for the loading of the first one.
+	 */
+	@Override
+	public Table getTable(String tableName) {
+
+		Table table = tables.get(tableName);
+		if (table != null)
+			return table;
+
+		FutureTask<Table> loading = new FutureTask<Table>(new TableLoading(
+				tableName));
+		FutureTask<Table> previous = loadings.putIfAbsent(tableName, loading);
+
+		if (previous == null) {
+			try {
+				loading.run();
+			} finally {
+				loadings.remove(tableName, loading);
+			}
+		} else
+			loading = previous;
+
+		try {
+			return Uninterruptibles.getUninterruptibly(loading);
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+
+	@Override
+	public Table getTableOfPlayer(String playerName) {
+
+		String tableName = seats.get(playerName);
+		if (tableName == null)
+			return null;
+		return tables.get(tableName);
+	}
+
+	@Override
+	public void seat(String playerName, String tableName) {
+		seats.put(playerName, tableName);
+	}
+
+	@Override
+	public Table register(Game game) {
+
+		repositoryGame.save(game);
+		Table table = new Table(game, workers, writers, repositoryGame, this);
+		tables.put(game.getName(), table);
+		return table;
+	}
+
+	@Override
+	public void release(String tableName) {
+
+		tables.remove(tableName);
+		lobby.remove(tableName);
+
+		Iterator<String> seated = seats.values().iterator();
+		while (seated.hasNext()) {
+			if (seated.next().equals(tableName))
+				seated.remove();
+		}
+	}
+
+	@Override
+	public Collection<Table> getTables() {
+		return tables.values();
+	}
+
+	@Override
+	public Lobby getLobby() {
+		return lobby;
+	}
+
+	@Override
+	public TimingWheel getTimingWheel() {
+		return timingWheel;
+	}
+
+	/**
+	 * Load a game and build its table, unless an other loading has just put
+	 * the table in the registry. The table is registered before the loading
+	 * is forgotten.
+	 */
+	private class TableLoading implements Callable<Table> {
+
+		private final String tableName;
+
+		TableLoading(String tableNamE) {
+			tableName = tableNamE;
+		}
+
+		@Override
+		public Table call() {
+
+			Table table = tables.get(tableName);
+			if (table != null)
+				return table;
+
+			Game game = repositoryGame.loadTable(tableName);
+			if (game == null || game.isEnded())
+				return null;
+
+			table = new Table(game, workers, writers, repositoryGame,
+					TableRegistry.this);
+			tables.put(tableName, table);
+			return table;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package poker.server.service.game.table;
+
+import java.util.Collection;
+
+import javax.ejb.Local;
+
+import poker.server.model.game.Game;
+import poker.server.service.game.timer.TimingWheel;
+
+/**
+ * This is the interface of the local registry of the tables kept in memory.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ */
+@Local
+public interface TableRegistryLocal {
+
+	/**
+	 * Give the table of a game, loading the game if it isn't in memory.
+	 * 
+	 * @param tableName
+	 *            the name of the game
+	 * @return the table, null if the game doesn't exist
+	 */
+	public Table getTable(String tableName);
+
+	/**
+	 * Give the table where a player is seated, without loading the player.
+	 * 
+	 * @param playerName
+	 *            the name of the player
+	 * @return the table, null if the player isn't seated at a table in memory
+	 */
+	public Table getTableOfPlayer(String playerName);
+
+	/**
+	 * Remember the table where a player is seated.
+	 * 
+	 * @param playerName
+	 *            the name of the player
+	 * @param tableName
+	 *            the name of the game joined by the player
+	 */
+	public void seat(String playerName, String tableName);
+
+	/**
+	 * Save a new game and keep it in memory.
+	 * 
+	 * @param game
+	 *            a new game
+	 * @return the table of the game
+	 */
+	public Table register(Game game);
+
+	/**
+	 * Remove a table from the memory, its game is only in the database.
+	 * 
+	 * @param tableName
+	 *            the name of the game
+	 */
+	public void release(String tableName);
+
+	/**
+	 * 
+	 * @return all the tables in memory
+	 */
+	public Collection<Table> getTables();
+
+	/**
+	 * 
+	 * @return the games waiting for players, kept up to date by their tables
+	 */
+	public Lobby getLobby();
+
+	/**
+	 * 
+	 * @return the timing wheel running the deadlines of all the tables
+	 */
+	public TimingWheel getTimingWheel();
+}
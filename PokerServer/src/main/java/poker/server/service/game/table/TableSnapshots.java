@@ -0,0 +1,79 @@
+package poker.server.service.game.table;
+
+import org.json.JSONObject;
+
+/**
+ * The last data of a game sent to the clients, one per version of the table.
+ * A snapshot is built once per version and shared by all the players of the
+ * table, and a client knowing an older version still kept only receives the
+ * fields which have changed since.
+ * <p>
+ * The snapshots are only read and written by the tasks of the table.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Table
+ */
+public class TableSnapshots {
+
+	public static final int DEFAULT_CAPACITY = 8;
+
+	private final long[] versions;
+	private final JSONObject[] snapshots;
+
+	/**
+	 * Default constructor, keeps the DEFAULT_CAPACITY last snapshots.
+	 */
+	public TableSnapshots() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 
+	 * @param capacity
+	 *            the number of snapshots kept
+	 */
+	public TableSnapshots(int capacity) {
+		versions = new long[capacity];
+		snapshots = new JSONObject[capacity];
+	}
+
+	/**
+	 * 
+	 * @param version
+	 *            a version of the table
+	 * @return the snapshot of this version, null if it isn't kept
+	 */
+	public JSONObject get(long version) {
+
+		int index = index(version);
+		if (versions[index] != version)
+			return null;
+		return snapshots[index];
+	}
+
+	/**
+	 * Keep the snapshot of a version, in place of the oldest one.
+	 * 
+	 * @param version
+	 *            a version of the table
+	 * @param snapshot
+	 *            the data of the game at this version
+	 */
+	public void put(long version, JSONObject snapshot) {
+
+		int index = index(version);
+		versions[index] = version;
+		snapshots[index] = snapshot;
+	}
+
+	private int index(long version) {
+		return (int) (version % versions.length);
+	}
+}
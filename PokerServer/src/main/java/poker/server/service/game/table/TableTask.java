@@ -0,0 +1,22 @@
+package poker.server.service.game.table;
+
+import poker.server.model.game.Game;
+
+/**
+ * A task run on the game of a table, by the only thread using this game at
+ * this time.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see Table
+ */
+public interface TableTask<T> {
+
+	public T run(Game game);
+}
@@ -0,0 +1,90 @@
+package poker.server.service.game.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A task scheduled on a timing wheel, which can be cancelled until it is run.
+ * The deadline is a link of the list of its bucket, only read and written by
+ * the thread of the wheel.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see TimingWheel
+ */
+public class Deadline {
+
+	private static final int WAITING = 0;
+	private static final int CANCELLED = 1;
+	private static final int EXPIRED = 2;
+
+	private final TimingWheel wheel;
+	private final Runnable task;
+	private final long tick;
+	private final AtomicInteger state = new AtomicInteger(WAITING);
+
+	// only used by the thread of the wheel
+	long remainingRounds;
+	int bucket = -1;
+	Deadline previous;
+	Deadline next;
+
+	Deadline(TimingWheel timingWheel, Runnable tasK, long ticK) {
+		wheel = timingWheel;
+		task = tasK;
+		tick = ticK;
+	}
+
+	/**
+	 * Cancel the task if it isn't run yet.
+	 *
+	 * @return true if the task won't be run
+	 */
+	public boolean cancel() {
+
+		if (!state.compareAndSet(WAITING, CANCELLED))
+			return isCancelled();
+
+		wheel.cancelled(this);
+		return true;
+	}
+
+	/**
+	 *
+	 * @return true if the task has been cancelled
+	 */
+	public boolean isCancelled() {
+		return state.get() == CANCELLED;
+	}
+
+	/**
+	 *
+	 * @return true if the task has been run, or is running
+	 */
+	public boolean isExpired() {
+		return state.get() == EXPIRED;
+	}
+
+	long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Run the task, unless it has been cancelled.
+	 *
+	 * @return true if the task has been run
+	 */
+	boolean expire() {
+
+		if (!state.compareAndSet(WAITING, EXPIRED))
+			return false;
+
+		task.run();
+		return true;
+	}
+}
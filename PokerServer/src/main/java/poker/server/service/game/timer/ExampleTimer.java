@@ -1,7 +0,0 @@
-package poker.server.service.game.timer;
-
-import poker.server.model.game.Game;
-
-public interface ExampleTimer {
-	void scheduleTimer(Game game);
-}
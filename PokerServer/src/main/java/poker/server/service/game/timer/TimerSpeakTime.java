@@ -1,5 +0,0 @@
-package poker.server.service.game.timer;
-
-public class TimerSpeakTime {
-
-}
@@ -0,0 +1,217 @@
+package poker.server.service.game.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The deadlines of all the tables, kept in a hashed wheel turned by one
+ * thread. The time is cut in ticks, and each tick has a bucket of the wheel:
+ * a deadline is put in the bucket of its tick, with the number of turns of
+ * the wheel to wait if it is further than one turn. Scheduling and
+ * cancelling a deadline cost the same whatever the number of deadlines.
+ * <p>
+ * The deadlines scheduled or cancelled are queued, and only the thread of the
+ * wheel moves them in the buckets, at the next tick. A deadline is never run
+ * before its time, and at most one tick after it. The tasks are run by the
+ * thread of the wheel, so they must only hand the work to another thread,
+ * like a task submitted to a table.
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * @see Deadline
+ */
+public class TimingWheel {
+
+	private static final Logger LOGGER = Logger.getLogger(TimingWheel.class
+			.getName());
+
+	// milliseconds of a tick, and ticks of a turn of the wheel
+	public static final long DEFAULT_TICK = 100;
+	public static final int DEFAULT_SIZE = 512;
+
+	private final long tickDuration;
+	private final Deadline[] buckets;
+	private final int mask;
+	private final long startTime = System.nanoTime();
+
+	private final Queue<Deadline> scheduled = new ConcurrentLinkedQueue<Deadline>();
+	private final Queue<Deadline> cancelled = new ConcurrentLinkedQueue<Deadline>();
+
+	private ExecutorService thread;
+
+	private final Runnable turn = new Runnable() {
+
+		@Override
+		public void run() {
+			try {
+				for (long tick = 1;; ++tick) {
+					waitFor(tick);
+					tick(tick);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	};
+
+	/**
+	 * Constructor with parameters.
+	 *
+	 * @param tick
+	 *            the duration of a tick
+	 * @param unit
+	 *            the unit of the duration
+	 * @param size
+	 *            the number of buckets, rounded up to a power of two
+	 */
+	public TimingWheel(long tick, TimeUnit unit, int size) {
+
+		int length = Integer.highestOneBit(Math.max(size, 1));
+		if (length < size)
+			length <<= 1;
+
+		tickDuration = unit.toNanos(tick);
+		buckets = new Deadline[length];
+		mask = length - 1;
+	}
+
+	/**
+	 * Start the thread turning the wheel.
+	 */
+	public void start() {
+		thread = Executors.newSingleThreadExecutor();
+		thread.execute(turn);
+	}
+
+	/**
+	 * Stop the thread turning the wheel, the deadlines waiting are never run.
+	 */
+	public void stop() {
+		if (thread != null)
+			thread.shutdownNow();
+	}
+
+	/**
+	 * Schedule a task.
+	 *
+	 * @param task
+	 *            a short task, run by the thread of the wheel
+	 * @param delay
+	 *            the time to wait before running the task
+	 * @param unit
+	 *            the unit of the delay
+	 * @return the deadline of the task, which can be cancelled
+	 */
+	public Deadline schedule(Runnable task, long delay, TimeUnit unit) {
+
+		long elapsed = System.nanoTime() - startTime + unit.toNanos(delay);
+		long tick = (elapsed + tickDuration - 1) / tickDuration;
+
+		Deadline deadline = new Deadline(this, task, tick);
+		scheduled.add(deadline);
+		return deadline;
+	}
+
+	void cancelled(Deadline deadline) {
+		cancelled.add(deadline);
+	}
+
+	/**
+	 * Move the deadlines scheduled or cancelled since the last tick, then run
+	 * the deadlines of the bucket of this tick. Only called by the thread of
+	 * the wheel, one tick after the other.
+	 *
+	 * @param tick
+	 *            the tick reached by the wheel
+	 */
+	void tick(long tick) {
+
+		Deadline deadline;
+		while ((deadline = cancelled.poll()) != null) {
+			if (deadline.bucket >= 0)
+				unlink(deadline);
+		}
+
+		while ((deadline = scheduled.poll()) != null) {
+			if (!deadline.isCancelled())
+				link(deadline, tick);
+		}
+
+		int bucket = (int) (tick & mask);
+		deadline = buckets[bucket];
+
+		while (deadline != null) {
+			Deadline next = deadline.next;
+
+			if (deadline.isCancelled())
+				unlink(deadline);
+
+			else if (deadline.remainingRounds <= 0) {
+				unlink(deadline);
+				expire(deadline);
+
+			} else
+				--deadline.remainingRounds;
+
+			deadline = next;
+		}
+	}
+
+	private void link(Deadline deadline, long tick) {
+
+		// a deadline already passed is run at this tick
+		long target = Math.max(deadline.getTick(), tick);
+
+		deadline.remainingRounds = (target - tick) / buckets.length;
+		deadline.bucket = (int) (target & mask);
+
+		deadline.previous = null;
+		deadline.next = buckets[deadline.bucket];
+		if (deadline.next != null)
+			deadline.next.previous = deadline;
+		buckets[deadline.bucket] = deadline;
+	}
+
+	private void unlink(Deadline deadline) {
+
+		if (deadline.previous != null)
+			deadline.previous.next = deadline.next;
+		else if (buckets[deadline.bucket] == deadline)
+			buckets[deadline.bucket] = deadline.next;
+
+		if (deadline.next != null)
+			deadline.next.previous = deadline.previous;
+
+		deadline.previous = null;
+		deadline.next = null;
+		deadline.bucket = -1;
+	}
+
+	private void expire(Deadline deadline) {
+
+		try {
+			deadline.expire();
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.SEVERE, "deadline failed", e);
+		}
+	}
+
+	private void waitFor(long tick) throws InterruptedException {
+
+		long time = startTime + tick * tickDuration;
+		long sleep;
+		while ((sleep = time - System.nanoTime()) > 0)
+			TimeUnit.NANOSECONDS.sleep(sleep);
+	}
+}
@@ -61,7 +61,7 @@ public class GameTypeService extends AbstractPokerService {
 			@PathParam("potType") int potType,
 			@PathParam("numberOfWinners") int numberOfWinners) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
@@ -97,7 +97,7 @@ public class GameTypeService extends AbstractPokerService {
 			@PathParam("potType") int potType,
 			@PathParam("numberOfWinners") int numberOfWinners) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
@@ -133,7 +133,7 @@ public class GameTypeService extends AbstractPokerService {
 			@PathParam("consumerKey") String consumerKey,
 			@PathParam("gameName") String gameName) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
@@ -156,11 +156,11 @@ public class GameTypeService extends AbstractPokerService {
 	public Response getAllGamesTypes(
 			@PathParam("consumerKey") String consumerKey) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
+		Consumer consumer = repositoryConsumer.loadCached(consumerKey);
 		if (consumer == null)
 			return error(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
-		List<GameType> gamesTypes = repositoryParameters.loadAll();
+		List<GameType> gamesTypes = repositoryParameters.loadAllCached();
 
 		JSONObject json = new JSONObject();
 		JSONArray jsonGamesTypes = new JSONArray();
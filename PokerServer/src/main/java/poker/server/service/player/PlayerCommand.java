@@ -0,0 +1,110 @@
+package poker.server.service.player;
+
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.GameException;
+import poker.server.model.exception.PlayerException;
+import poker.server.model.game.Game;
+import poker.server.model.player.Player;
+import poker.server.service.game.table.TableTask;
+
+/**
+ * An action of a player, put in the mailbox of his table. The actions of the
+ * players of a table are applied one after the other on the game in memory,
+ * so the turn of the player is always checked on the current state of the
+ * game.
+ * 
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ * 
+ * @see PlayerService
+ */
+public class PlayerCommand implements TableTask<Void> {
+
+	private final String playerName;
+	private final int action;
+	private final int raiseValue;
+
+	/**
+	 * Constructor with parameters.
+	 * 
+	 * @param name
+	 *            the name of the player
+	 * @param playerAction
+	 *            the action, as defined in PlayerService
+	 * @param value
+	 *            the value of the raise, ignored by the other actions
+	 */
+	public PlayerCommand(String name, int playerAction, int value) {
+		playerName = name;
+		action = playerAction;
+		raiseValue = value;
+	}
+
+	/**
+	 * Apply the action on the player, in the game of his table.
+	 * 
+	 * @exception PlayerException
+	 *                if the player isn't playing at the table, or if the
+	 *                action isn't allowed
+	 * @exception GameException
+	 *                if the game isn't started
+	 */
+	@Override
+	public Void run(Game game) {
+
+		Player player = game.getPlayer(playerName);
+
+		if (player == null || player.isOutGame() || player.isMissing())
+			throw new PlayerException(ErrorMessage.PLAYER_NOT_CONNECTED);
+		else if (!game.isStarted())
+			throw new GameException(ErrorMessage.GAME_NOT_READY_TO_START);
+
+		switch (action) {
+
+		case PlayerService.FOLD:
+			player.fold();
+			break;
+
+		case PlayerService.CALL:
+			player.call();
+			break;
+
+		case PlayerService.CHECK:
+			player.check();
+			break;
+
+		case PlayerService.ALLIN:
+			player.allIn();
+			break;
+
+		case PlayerService.RAISE:
+			player.raise(raiseValue);
+			break;
+
+		case PlayerService.MISSING:
+			player.setAsMissing();
+			break;
+
+		case PlayerService.DISCONNECT:
+			player.setOutGame();
+			break;
+
+		default:
+			break;
+		}
+		return null;
+	}
+
+	public String getPlayerName() {
+		return playerName;
+	}
+
+	public int getAction() {
+		return action;
+	}
+}
@@ -14,8 +14,12 @@ import poker.server.infrastructure.RepositoryConsumer;
 import poker.server.infrastructure.RepositoryPlayer;
 import poker.server.model.exception.ErrorMessage;
 import poker.server.model.exception.SignatureException;
+import poker.server.model.game.Game;
 import poker.server.model.player.Player;
 import poker.server.service.AbstractPokerService;
+import poker.server.service.game.table.Table;
+import poker.server.service.game.table.TableRegistryLocal;
+import poker.server.service.game.table.TableTask;
 import poker.server.service.sign.SignatureService;
 
 /**
@@ -52,6 +56,9 @@ public class PlayerService extends AbstractPokerService {
 	@EJB
 	private RepositoryAccessToken repositoryAccessToken;
 
+	@EJB
+	private TableRegistryLocal tableRegistry;
+
 	/**
 	 * Executes the raise action for player with the name given as parameter
 	 */
@@ -141,69 +148,52 @@ public class PlayerService extends AbstractPokerService {
 			String signature) {
 
 		String[] infos = null;
-		int saveAction = action;
 
 		try {
-			if (action != RAISE)
-				action = SignatureService.OTHER_ACTION;
 			infos = verifySignature(action, consumerKey, signature);
 		} catch (SignatureException e) {
 			return error(e.getError());
 		}
 
 		String playerName = infos[6];
+		int raiseValue = action == RAISE ? Integer.parseInt(infos[8]) : 0;
 
-		JSONObject json = new JSONObject();
-		Player player = repositoryPlayer.load(playerName);
-
-		if (player == null)
-			return error(ErrorMessage.ERROR_UNKNOWN_PLAYER);
+		// the table of the player is only looked for if it isn't known yet
+		Table table = tableRegistry.getTableOfPlayer(playerName);
 
-		else {
-			if (player.isOutGame() || player.isMissing())
-				return error(ErrorMessage.PLAYER_NOT_CONNECTED);
-			else if (player.getGame() != null && !player.getGame().isStarted())
-				return error(ErrorMessage.GAME_NOT_READY_TO_START);
-		}
+		if (table == null) {
 
-		switch (saveAction) {
+			String tableName = repositoryPlayer.getTableName(playerName);
 
-		case FOLD:
-			player.fold();
-			break;
+			if (tableName == null) {
+				if (repositoryPlayer.load(playerName) == null)
+					return error(ErrorMessage.ERROR_UNKNOWN_PLAYER);
+				return error(ErrorMessage.PLAYER_NOT_CONNECTED);
+			}
 
-		case CALL:
-			player.call();
-			break;
+			table = tableRegistry.getTable(tableName);
 
-		case CHECK:
-			player.check();
-			break;
+			if (table == null)
+				return error(ErrorMessage.PLAYER_NOT_CONNECTED);
 
-		case ALLIN:
-			player.allIn();
-			break;
+			tableRegistry.seat(playerName, tableName);
+		}
 
-		case RAISE:
-			int raiseValue = Integer.parseInt(infos[8]);
-			player.raise(raiseValue);
-			break;
+		final PlayerCommand command = new PlayerCommand(playerName,
+				action, raiseValue);
 
-		case MISSING:
-			player.setAsMissing();
-			break;
+		return execute(table, new TableTask<Response>() {
 
-		case DISCONNECT:
-			player.setOutGame();
-			break;
+			@Override
+			public Response run(Game game) {
 
-		default:
-			break;
-		}
+				command.run(game);
 
-		repositoryPlayer.update(player);
-		updateJSON(json, STAT, OK);
-		return buildResponse(json);
+				JSONObject json = new JSONObject();
+				updateJSON(json, STAT, OK);
+				return buildResponse(json);
+			}
+		});
 	}
 
 	/**
@@ -1,10 +1,23 @@
 package poker.server.service.sign;
 
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import poker.server.infrastructure.RepositoryAccessToken;
 import poker.server.infrastructure.RepositoryConsumer;
 import poker.server.infrastructure.auth.AccessToken;
 import poker.server.infrastructure.auth.Consumer;
 import poker.server.infrastructure.auth.RequestToken;
+import poker.server.infrastructure.crypt.AES;
 import poker.server.model.exception.ErrorMessage;
 import poker.server.model.exception.SignatureException;
 import poker.server.service.auth.AuthProvider;
@@ -20,6 +33,26 @@ import poker.server.service.auth.AuthProvider;
  * <br>
  *         University Bordeaux 1, Software Engineering, Master 2 <br>
  * 
+ * A signature is the HMAC-SHA256 of the fields of the request, followed by
+ * the fields themselves:
+ * <p>
+ * {@code mac&consumerKey&<consumerKey>&token&<token>&<name>&<value>...&timestamp&<seconds>&nonce&<nonce>}
+ * <p>
+ * The fields of each action are given in the order of the API. The MAC, in
+ * hex format, is computed over the number of the action followed by "&" and
+ * the fields, with the key {@code <consumer secret>&<token secret>}: the
+ * secrets never travel. A signature is refused when its timestamp is more
+ * than SIGNATURE_WINDOW seconds away from the time of the server, or when its
+ * nonce has already been used by the consumer within this window. The
+ * nonces are kept until their signatures leave the window, each consumer
+ * keeping at most NONCES of them: beyond, its signatures are refused until
+ * some expire, rather than forgetting nonces that could then be replayed.
+ * <p>
+ * The keys of the access tokens already validated are kept in memory for
+ * VALIDATION_TTL minutes, so the players acting at a table are authenticated
+ * without reading the database. A key is forgotten sooner when its token is
+ * revoked, or when a new access token is issued to its consumer.
+ * 
  * @see Consumer
  * @see AccessToken
  * @see RequestToken
@@ -40,114 +73,265 @@ public class SignatureService {
 	public static final int CONNECT = 9;
 	public static final int SHOWDOWN = 10;
 
-	private static SignatureService signatureService;
+	// the fields following the token, for each action
+	private static final String[] AUTHENTICATE_FIELDS = { "name", "password" };
+	private static final String[] CONNECT_FIELDS = { "tableName", "playerName" };
+	private static final String[] SHOWDOWN_FIELDS = { "tableName" };
+	private static final String[] ACTION_FIELDS = { "playerName" };
+	private static final String[] RAISE_FIELDS = { "playerName", "quantity" };
+
+	private static final String CONSUMER_KEY = "consumerKey";
+	private static final String TOKEN = "token";
+	private static final String TIMESTAMP = "timestamp";
+	private static final String NONCE = "nonce";
+
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+	private static final int MAC_SIZE = 32;
+	private static final String CHARSET = "UTF-8";
+
+	// seconds between the timestamp of a signature and the time of the server
+	public static final int SIGNATURE_WINDOW = 60;
+
+	// keys kept at most, the least recently used are forgotten first
+	private static final int VALIDATED_TOKENS = 10000;
+	private static final int VALIDATION_TTL = 5;
+
+	// nonces kept at most by a consumer, over twice the window
+	private static final int NONCES = 100000;
+
+	// created with the class, so all the threads share the same caches
+	private static final SignatureService signatureService = new SignatureService();
+
+	// the key of each access token validated
+	private final Cache<String, SigningKey> validatedTokens = CacheBuilder
+			.newBuilder().maximumSize(VALIDATED_TOKENS)
+			.expireAfterWrite(VALIDATION_TTL, TimeUnit.MINUTES).build();
+
+	private final UsedNonces usedNonces = new UsedNonces(NONCES,
+			SIGNATURE_WINDOW);
+
+	private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>() {
+
+		@Override
+		protected Mac initialValue() {
+			try {
+				return Mac.getInstance(MAC_ALGORITHM);
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
 
 	/**
 	 * Singleton to have only one instance of this class
 	 */
 	public static SignatureService getInstance() {
-		if (signatureService == null)
-			signatureService = new SignatureService();
 		return signatureService;
 	}
 
 	/**
-	 * Decrypt the signature and verify if the original is equal to the
-	 * decrypted signature
+	 * Verify the MAC, the timestamp and the nonce of the signature, and return
+	 * its fields. The values of the action are found at the indexes 6 and 8.
 	 */
 	public String[] verifySignature(int verifyType, String consumerKey,
 			String signature, RepositoryConsumer repositoryConsumer,
 			RepositoryAccessToken repositoryAccessToken) {
 
-		Consumer consumer = repositoryConsumer.load(consumerKey);
-		if (consumer == null)
-			throw new SignatureException(ErrorMessage.UNKNOWN_CONSUMER_KEY);
-
-		// Uncomment these lines to enable AES Encryption
+		String[] infos = signature.split("&");
+		String token = infos.length > 4 ? infos[4] : null;
 
-		// String seed = consumer.getSecret();
-		// String clearCustomer = AES.decrypt(seed, signature);
+		SigningKey key = token == null ? null : validatedTokens
+				.getIfPresent(token);
+		if (key != null && !key.consumerKey.equals(consumerKey))
+			key = null;
 
-		String clearCustomer = signature;
-		String[] infos = clearCustomer.split("&");
+		Consumer consumer = null;
+		if (key == null
+				&& (consumer = repositoryConsumer.loadCached(consumerKey)) == null)
+			throw new SignatureException(ErrorMessage.UNKNOWN_CONSUMER_KEY);
 
 		try {
-			isCorrectFormat(verifyType, infos);
+			isCorrectFormat(verifyType, consumerKey, infos);
 		} catch (SignatureException e) {
 			throw new SignatureException(e.getError());
 		}
 
-		String secret = infos[0];
-		String consumKey = infos[2];
-		String token = infos[4];
+		boolean loaded = key == null;
+		if (loaded) {
+			AccessToken accessToken = null;
+			if ((accessToken = repositoryAccessToken.loadCached(token)) == null)
+				throw new SignatureException(ErrorMessage.UNKNOWN_ACCESS_TOKEN);
+
+			if (!accessToken.getConsumer().getConsumerKey().equals(consumerKey))
+				throw new SignatureException(
+						ErrorMessage.INCOMPATIBLE_ACCESS_TOKEN_CONSUMER);
+
+			key = new SigningKey(consumerKey, consumer.getSecret(),
+					accessToken.getSecret());
+		}
+
+		if (!MessageDigest.isEqual(toMac(infos[0]),
+				sign(key.key, verifyType, signature.substring(infos[0]
+						.length() + 1))))
+			throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+
+		long timestamp = Long.parseLong(infos[infos.length - 3]);
+		long now = System.currentTimeMillis() / 1000;
+		if (Math.abs(now - timestamp) > SIGNATURE_WINDOW)
+			throw new SignatureException(ErrorMessage.EXPIRED_SIGNATURE);
 
-		AccessToken accessToken = null;
-		if ((accessToken = repositoryAccessToken.load(token)) == null)
-			throw new SignatureException(ErrorMessage.UNKNOWN_ACCESS_TOKEN);
+		if (!usedNonces.use(consumerKey, infos[infos.length - 1], timestamp,
+				now))
+			throw new SignatureException(ErrorMessage.EXPIRED_SIGNATURE);
 
-		if (!accessToken.getConsumer().getConsumerKey().equals(consumerKey))
-			throw new SignatureException(
-					ErrorMessage.INCOMPATIBLE_ACCESS_TOKEN_CONSUMER);
+		if (loaded)
+			validatedTokens.put(token, key);
+		return infos;
+	}
 
-		String original = null;
+	/**
+	 * Compute the signature of the fields of a request, in hex format
+	 * 
+	 * @param verifyType
+	 *            the action of the request
+	 * @param consumerSecret
+	 *            the secret of the consumer
+	 * @param tokenSecret
+	 *            the secret of the access token
+	 * @param fields
+	 *            the fields of the request, without the MAC
+	 * @return the MAC to put before the fields
+	 */
+	public static String sign(int verifyType, String consumerSecret,
+			String tokenSecret, String fields) {
 
-		switch (verifyType) {
+		return AES.toHex(sign(new SigningKey(null, consumerSecret,
+				tokenSecret).key, verifyType, fields));
+	}
+
+	/**
+	 * Forget an access token validated, its next use is checked in the
+	 * database again
+	 */
+	public void revoke(String token) {
+		validatedTokens.invalidate(token);
+	}
+
+	/**
+	 * Forget all the access tokens validated for a consumer
+	 */
+	public void revokeConsumer(String consumerKey) {
+
+		Iterator<SigningKey> keys = validatedTokens.asMap().values()
+				.iterator();
+		while (keys.hasNext()) {
+			if (keys.next().consumerKey.equals(consumerKey))
+				keys.remove();
+		}
+	}
+
+	/**
+	 * Verify the format of informations after split
+	 */
+	private void isCorrectFormat(int type, String consumerKey, String[] infos) {
+
+		String[] fields = getFields(type);
+
+		if (infos.length != 9 + 2 * fields.length || infos[0].length() == 0
+				|| !CONSUMER_KEY.equals(infos[1])
+				|| !consumerKey.equals(infos[2]) || !TOKEN.equals(infos[3])
+				|| !TIMESTAMP.equals(infos[infos.length - 4])
+				|| !NONCE.equals(infos[infos.length - 2]))
+			throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+
+		for (int i = 0; i < fields.length; ++i) {
+			if (!fields[i].equals(infos[5 + 2 * i]))
+				throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+		}
+
+		try {
+			Long.parseLong(infos[infos.length - 3]);
+			if (type == RAISE)
+				Integer.parseInt(infos[8]);
+		} catch (NumberFormatException e) {
+			throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+		}
+	}
+
+	private String[] getFields(int type) {
+
+		switch (type) {
 
 		case AUTHENTICATE:
-			String name = infos[6];
-			String password = infos[8];
-			original = secret + "&consumerKey&" + consumKey + "&token&" + token
-					+ "&name&" + name + "&password&" + password;
-			break;
+			return AUTHENTICATE_FIELDS;
 
 		case CONNECT:
-			String tableName = infos[6];
-			String playerName = infos[8];
-			original = secret + "&consumerKey&" + consumKey + "&token&" + token
-					+ "&tableName&" + tableName + "&playerName&" + playerName;
-			break;
+			return CONNECT_FIELDS;
 
 		case SHOWDOWN:
-			String tableNameShowdown = infos[6];
-			original = secret + "&consumerKey&" + consumKey + "&token&" + token
-					+ "&tableName&" + tableNameShowdown;
-			break;
-
-		case OTHER_ACTION:
-			String namePlayerAction = infos[6];
-			original = secret + "&consumerKey&" + consumKey + "&token&" + token
-					+ "&playerName&" + namePlayerAction;
-			break;
+			return SHOWDOWN_FIELDS;
 
 		case RAISE:
-			String namePlayerRaiseAction = infos[6];
-			int quantity = Integer.parseInt(infos[8]);
+			return RAISE_FIELDS;
 
-			original = secret + "&consumerKey&" + consumKey + "&token&" + token
-					+ "&playerName&" + namePlayerRaiseAction + "&quantity&"
-					+ quantity;
-			break;
+		case FOLD:
+		case CALL:
+		case CHECK:
+		case ALLIN:
+		case MISSING:
+		case DISCONNECT:
+		case OTHER_ACTION:
+			return ACTION_FIELDS;
 
 		default:
 			throw new SignatureException(ErrorMessage.UNKNOWN_ERROR);
 		}
+	}
 
-		if (!clearCustomer.equals(original))
-			throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+	private static byte[] toMac(String hex) {
 
-		return infos;
+		if (hex.length() != 2 * MAC_SIZE)
+			return new byte[0];
+		try {
+			return AES.toByte(hex);
+		} catch (NumberFormatException e) {
+			return new byte[0];
+		}
+	}
+
+	private static byte[] sign(SecretKeySpec key, int verifyType, String fields) {
+
+		try {
+			Mac mac = MAC.get();
+			mac.init(key);
+			mac.update(String.valueOf(verifyType).getBytes(CHARSET));
+			mac.update((byte) '&');
+			return mac.doFinal(fields.getBytes(CHARSET));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	/**
-	 * Verify the format of informations after split
+	 * The key of an access token, with the consumer it was issued to
 	 */
-	private void isCorrectFormat(int type, String[] infos) {
+	private static class SigningKey {
 
-		if (type == AUTHENTICATE || type == CONNECT || type == RAISE) {
-			if (infos.length != 9)
-				throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
-		} // for SHOWDOWN, FOLD, CALL,...
-		else if (infos.length != 7)
-			throw new SignatureException(ErrorMessage.INVALID_SIGNATURE);
+		private final String consumerKey;
+		private final SecretKeySpec key;
+
+		SigningKey(String consumerKeY, String consumerSecret,
+				String tokenSecret) {
+
+			consumerKey = consumerKeY;
+			try {
+				key = new SecretKeySpec((consumerSecret + "&" + tokenSecret)
+						.getBytes(CHARSET), MAC_ALGORITHM);
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
 	}
 }
@@ -0,0 +1,105 @@
+package poker.server.service.sign;
+
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.SignatureException;
+
+/**
+ * Class : UsedNonces
+ *
+ * @author <b> Rafik Ferroukh </b> <br>
+ *         <b> Lucas Kerdoncuff </b> <br>
+ *         <b> Xan Lucu </b> <br>
+ *         <b> Youga Mbaye </b> <br>
+ *         <b> Balla Seck </b> <br>
+ * <br>
+ *         University Bordeaux 1, Software Engineering, Master 2 <br>
+ *
+ * The nonces used by each consumer. A nonce is kept until the timestamp of
+ * its signature leaves the window, and never forgotten before: its signature
+ * can't be replayed. A consumer keeps at most capacity nonces, the signatures
+ * it sends beyond are refused until some of its nonces expire.
+ */
+class UsedNonces {
+
+	private final int capacity;
+	private final long window;
+
+	private final ConcurrentMap<String, ConsumerNonces> consumers = new ConcurrentHashMap<String, ConsumerNonces>();
+
+	UsedNonces(int capacitY, long windoW) {
+		capacity = capacitY;
+		window = windoW;
+	}
+
+	/**
+	 * Keep the nonce of a signature
+	 *
+	 * @param timestamp
+	 *            the timestamp of the signature, in seconds
+	 * @param now
+	 *            the time of the server, in seconds
+	 * @return false if the nonce is already used by the consumer
+	 * @exception SignatureException
+	 *                if the consumer already keeps capacity nonces
+	 */
+	boolean use(String consumerKey, String nonce, long timestamp, long now) {
+
+		ConsumerNonces nonces = consumers.get(consumerKey);
+		if (nonces == null) {
+			ConsumerNonces created = new ConsumerNonces();
+			nonces = consumers.putIfAbsent(consumerKey, created);
+			if (nonces == null)
+				nonces = created;
+		}
+
+		synchronized (nonces) {
+			nonces.forget(now);
+
+			if (nonces.used.contains(nonce))
+				return false;
+
+			if (nonces.used.size() >= capacity)
+				throw new SignatureException(ErrorMessage.TOO_MANY_SIGNATURES);
+
+			nonces.used.add(nonce);
+			nonces.expiries.add(new UsedNonce(nonce, timestamp + window));
+			return true;
+		}
+	}
+
+	// the nonces of a consumer, guarded by itself
+	private static class ConsumerNonces {
+
+		private final Set<String> used = new HashSet<String>();
+		private final PriorityQueue<UsedNonce> expiries = new PriorityQueue<UsedNonce>();
+
+		// the signatures of these nonces are refused by their timestamp
+		private void forget(long now) {
+			while (!expiries.isEmpty() && expiries.peek().expiry < now)
+				used.remove(expiries.poll().nonce);
+		}
+	}
+
+	private static class UsedNonce implements Comparable<UsedNonce> {
+
+		private final String nonce;
+		private final long expiry;
+
+		private UsedNonce(String noncE, long expirY) {
+			nonce = noncE;
+			expiry = expirY;
+		}
+
+		@Override
+		public int compareTo(UsedNonce other) {
+			return expiry < other.expiry ? -1 : expiry == other.expiry ? 0
+					: 1;
+		}
+	}
+}
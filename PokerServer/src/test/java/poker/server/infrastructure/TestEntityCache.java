@@ -0,0 +1,70 @@
+package poker.server.infrastructure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestEntityCache {
+
+	private EntityCache<String, String> cache;
+
+	@Before
+	public void beforeTest() {
+		cache = new EntityCache<String, String>(2, 1, TimeUnit.MINUTES);
+	}
+
+	@Test
+	public void testEvictedOnWrite() {
+
+		cache.put("rafik", "consumer of rafik");
+		cache.putAll(new ArrayList<String>());
+
+		assertEquals("consumer of rafik", cache.get("rafik"));
+
+		cache.evict("rafik");
+
+		assertNull(cache.get("rafik"));
+		assertNull(cache.getAll());
+	}
+
+	@Test
+	public void testUnknownIdOnlyEvictsTheList() {
+
+		cache.put("rafik", "consumer of rafik");
+		cache.putAll(new ArrayList<String>());
+
+		cache.evict(null);
+
+		assertEquals("consumer of rafik", cache.get("rafik"));
+		assertNull(cache.getAll());
+	}
+
+	@Test
+	public void testBoundedSize() {
+
+		cache.put("rafik", "consumer of rafik");
+		cache.put("lucas", "consumer of lucas");
+		cache.put("xan", "consumer of xan");
+
+		int kept = 0;
+		for (String name : new String[] { "rafik", "lucas", "xan" }) {
+			if (cache.get(name) != null)
+				++kept;
+		}
+		assertTrue(kept <= 2);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testListCantBeModified() {
+
+		List<String> all = cache.putAll(new ArrayList<String>());
+		all.add("youga");
+	}
+}
@@ -1,7 +1,10 @@
 package poker.server.infrastructure.auth.crypt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
+import java.security.GeneralSecurityException;
 import java.util.UUID;
 
 import org.junit.Test;
@@ -26,4 +29,51 @@ public class TestAESCrypto {
 
 		assertEquals(toEncrypt, decrypted);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCryptTwiceWithTheSameSeed() throws Exception {
+
+		String seed = UUID.randomUUID().toString();
+		String toEncrypt = "consumerKey&dspodsdfisfiofiofdiofdfio&token&dsdlsdlsdmlsdlm&playerName&Rafik";
+
+		String encrypted = AES.encrypt(seed, toEncrypt);
+
+		assertEquals(encrypted, AES.encrypt(seed, toEncrypt));
+		assertEquals(toEncrypt, AES.decrypt(seed, encrypted));
+	}
+
+	@Test
+	public void testCryptAuthenticated() throws Exception {
+
+		String seed = UUID.randomUUID().toString();
+		String toEncrypt = "consumerKey&dspodsdfisfiofiofdiofdfio&token&dsdlsdlsdmlsdlm&playerName&Rafik";
+
+		String encrypted = AES.encryptAuthenticated(seed, toEncrypt);
+
+		assertFalse(encrypted.equals(AES.encryptAuthenticated(seed, toEncrypt)));
+		assertEquals(toEncrypt, AES.decryptAuthenticated(seed, encrypted));
+	}
+
+	@Test
+	public void testModifiedTextIsRefused() throws Exception {
+
+		String seed = UUID.randomUUID().toString();
+		String encrypted = AES.encryptAuthenticated(seed, "playerName&Rafik");
+
+		char last = encrypted.charAt(40);
+		String modified = encrypted.substring(0, 40) + (last == '0' ? '1' : '0')
+				+ encrypted.substring(41);
+
+		try {
+			AES.decryptAuthenticated(seed, modified);
+			fail();
+		} catch (GeneralSecurityException e) {
+		}
+
+		try {
+			AES.decryptAuthenticated(UUID.randomUUID().toString(), encrypted);
+			fail();
+		} catch (GeneralSecurityException e) {
+		}
+	}
+}
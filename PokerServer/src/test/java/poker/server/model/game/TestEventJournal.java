@@ -0,0 +1,73 @@
+package poker.server.model.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import poker.server.model.exception.GameException;
+
+public class TestEventJournal {
+
+	private EventJournal journal;
+
+	@Before
+	public void beforeTest() {
+		journal = new EventJournal(4);
+	}
+
+	@Test
+	public void testEmptyJournal() {
+		assertEquals(0, journal.getLastSequence());
+		assertNull(journal.getLast());
+		assertEquals(0, journal.getEventsSince(0).size());
+	}
+
+	@Test
+	public void testEventsSince() {
+
+		journal.add(Event.GAME, "START GAME");
+		journal.add(Event.ACTION, "balla CALLS");
+		journal.add(Event.ACTION, "xan FOLDS");
+
+		List<Event> events = journal.getEventsSince(1);
+
+		assertEquals(2, events.size());
+		assertEquals(2, events.get(0).getSequence());
+		assertEquals("balla CALLS", events.get(0).getMessage());
+		assertEquals(Event.ACTION, events.get(1).getType());
+		assertEquals(0, journal.getEventsSince(3).size());
+	}
+
+	@Test
+	public void testJournalIsBounded() {
+
+		for (int i = 1; i <= 10; ++i)
+			journal.add(Event.POT, "BETS = " + i);
+
+		List<Event> events = journal.getEventsSince(0);
+
+		assertEquals(4, events.size());
+		assertEquals(7, events.get(0).getSequence());
+		assertEquals("BETS = 10", journal.getLast().getMessage());
+	}
+
+	@Test
+	public void testJournalsAreSeparated() {
+
+		Game first = new Game();
+		Game second = new Game();
+		first.addEvent(Event.GAME, "START GAME");
+
+		assertEquals(1, first.getEvents().getLastSequence());
+		assertEquals(0, second.getEvents().getLastSequence());
+	}
+
+	@Test(expected = GameException.class)
+	public void testEventWithoutMessage() {
+		journal.add(Event.GAME, null);
+	}
+}
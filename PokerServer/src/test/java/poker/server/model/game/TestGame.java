@@ -1,6 +1,7 @@
 package poker.server.model.game;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -70,7 +71,7 @@ public class TestGame {
 		List<String> events = new ArrayList<String>();
 		events.add("THE DECK IS SHUFFLED");
 		events.add("DEAL CARDS FOR PLAYERS");
-		assertEquals(events, Event.getEvents());
+		assertEquals(events, game.getEvents().getMessages());
 	}
 
 	@Test
@@ -604,4 +605,102 @@ public class TestGame {
 			System.out.println();
 		}*/
 	}
+
+	@Test
+	public void testMissingPlayerIsSkipped() {
+
+		startGame();
+		assertEquals(player4, game.getCurrentPlayer());
+
+		player5.setAsMissing();
+		player4.call();
+
+		assertEquals(player1, game.getCurrentPlayer());
+	}
+
+	@Test
+	public void testLastPlayerEndsTheRound() {
+
+		startGame();
+
+		player4.call();
+		player5.call();
+		player1.call();
+		player2.call();
+		assertEquals(player3, game.getCurrentPlayer());
+
+		player3.check();
+
+		assertEquals(Game.FLOP, game.getCurrentRound());
+		assertEquals(player2, game.getCurrentPlayer());
+	}
+
+	@Test
+	public void testShortStackedBigBlind() {
+
+		startGame();
+
+		player4.fold();
+		playToShowDown();
+
+		// the next big blind keeps only a part of the blind
+		player1.reward(player4.getCurrentTokens() - 5);
+		player4.setCurrentTokens(5);
+		game.showDown();
+
+		assertEquals(player4, game.getBigBlindPlayer());
+		assertEquals(0, player4.getCurrentTokens());
+		assertEquals(5, player4.getCurrentBet());
+		assertEquals(5, player4.getTotalBet());
+		assertTrue(player4.isAllIn());
+		assertEquals(game.getSmallBlind() + 5, game.getCurrentPot());
+		assertEquals(game.getBigBlind(), game.getCurrentBet());
+		assertTrue(GameInvariants.check(game).isEmpty());
+	}
+
+	@Test
+	public void testFoldedBetIsNotLost() {
+
+		startGame();
+
+		player4.call();
+		player5.call();
+		player1.call();
+		player2.call();
+		player3.check();
+
+		// the bet of the folded player equals the only pot of the showdown
+		player2.fold();
+		playToShowDown();
+		game.showDown();
+
+		int tokens = game.getCurrentPot() + game.getTotalPot();
+		for (Player player : game.getPlayers())
+			tokens += player.getCurrentTokens();
+
+		assertEquals(5 * game.getGameType().getTokens(), tokens);
+		assertTrue(GameInvariants.check(game).isEmpty());
+	}
+
+	private void playToShowDown() {
+
+		while (game.getCurrentRound() != Game.SHOWDOWN) {
+
+			Player player = game.getCurrentPlayer();
+			if (player.getPossibleActions().containsKey("check"))
+				player.check();
+			else
+				player.call();
+		}
+	}
+
+	private void startGame() {
+
+		game.add(player1);
+		game.add(player2);
+		game.add(player3);
+		game.add(player4);
+		game.add(player5);
+		game.start();
+	}
 }
@@ -0,0 +1,148 @@
+package poker.server.model.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import poker.server.model.game.GameInvariants.Violation;
+import poker.server.model.game.parameters.SitAndGo;
+import poker.server.model.player.Player;
+import poker.server.model.player.PlayerFactory;
+import poker.server.model.player.PlayerFactoryLocal;
+
+public class TestGameInvariants {
+
+	private PlayerFactoryLocal playerFactory = new PlayerFactory();
+	private GameFactoryLocal gameFactory = new GameFactory();
+
+	private Game game;
+	private Player player1;
+	private Player player2;
+
+	private int samplingRate;
+
+	@Before
+	public void beforeTest() {
+
+		samplingRate = GameInvariants.getSamplingRate();
+
+		game = gameFactory.newGame(new SitAndGo());
+		player1 = playerFactory.newPlayer("rafik", "rafik");
+		player2 = playerFactory.newPlayer("lucas", "lucas");
+
+		game.add(player1);
+		game.add(player2);
+		game.add(playerFactory.newPlayer("youga", "youga"));
+		game.add(playerFactory.newPlayer("balla", "balla"));
+		game.add(playerFactory.newPlayer("xan", "xan"));
+		game.start();
+	}
+
+	@After
+	public void afterTest() {
+		GameInvariants.setSamplingRate(samplingRate);
+	}
+
+	@Test
+	public void testStartedGameIsValid() {
+		assertTrue(GameInvariants.check(game).isEmpty());
+	}
+
+	@Test
+	public void testChipsAppearing() {
+
+		long before = GameInvariants
+				.getViolations(Violation.CHIPS_NOT_CONSERVED);
+		player1.reward(100);
+
+		List<Violation> expected = Arrays
+				.asList(Violation.CHIPS_NOT_CONSERVED);
+		assertEquals(expected, GameInvariants.check(game));
+		assertEquals(before + 1,
+				GameInvariants.getViolations(Violation.CHIPS_NOT_CONSERVED));
+	}
+
+	@Test
+	public void testNegativeTokens() {
+
+		player2.reward(player1.getCurrentTokens() + 10);
+		player1.setCurrentTokens(-10);
+
+		List<Violation> expected = Arrays.asList(Violation.NEGATIVE_TOKENS);
+		assertEquals(expected, GameInvariants.check(game));
+	}
+
+	@Test
+	public void testInvalidSeat() {
+
+		game.setDealerPlayer(game.getPlayers().size());
+
+		List<Violation> expected = Arrays.asList(Violation.INVALID_SEAT);
+		assertEquals(expected, GameInvariants.check(game));
+	}
+
+	@Test
+	public void testCardStillInTheDeck() {
+
+		player1.addCard(game.getDeck().getCards().get(0));
+
+		List<Violation> expected = Arrays.asList(Violation.CARD_DEALT_TWICE);
+		assertEquals(expected, GameInvariants.check(game));
+	}
+
+	@Test
+	public void testCardOfAnotherPlayer() {
+
+		player1.addCard(player2.getCurrentHand().getCards().get(0));
+
+		List<Violation> expected = Arrays.asList(Violation.CARD_DEALT_TWICE);
+		assertEquals(expected, GameInvariants.check(game));
+	}
+
+	@Test
+	public void testBlindsPostedAtEachHand() {
+
+		for (int hand = 1; hand <= 3; ++hand) {
+
+			while (game.getCurrentRound() != Game.SHOWDOWN) {
+
+				Player player = game.getCurrentPlayer();
+				if (player.getPossibleActions().containsKey("check"))
+					player.check();
+				else
+					player.call();
+			}
+			game.showDown();
+
+			assertTrue(GameInvariants.check(game).isEmpty());
+			assertEquals(game.getSmallBlind() + game.getBigBlind(),
+					game.getCurrentPot());
+			assertEquals(game.getBigBlind(), game.getBigBlindPlayer()
+					.getCurrentBet());
+		}
+	}
+
+	@Test
+	public void testSampling() {
+
+		long checks = GameInvariants.getChecks();
+
+		GameInvariants.setSamplingRate(0);
+		GameInvariants.sample(game);
+		assertEquals(checks, GameInvariants.getChecks());
+
+		GameInvariants.setSamplingRate(game.getHandNumber() + 1);
+		GameInvariants.sample(game);
+		assertEquals(checks, GameInvariants.getChecks());
+
+		GameInvariants.setSamplingRate(game.getHandNumber());
+		GameInvariants.sample(game);
+		assertEquals(checks + 1, GameInvariants.getChecks());
+	}
+}
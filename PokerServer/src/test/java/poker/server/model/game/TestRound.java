@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import poker.server.model.game.card.Cards;
 import poker.server.model.player.Player;
 import poker.server.model.player.PlayerFactory;
 import poker.server.model.player.PlayerFactoryLocal;
@@ -172,7 +173,8 @@ public class TestRound {
 
 		game.showDown();
 
-		int actualTokens = 0;
+		// the blinds of the next hand are in its pot
+		int actualTokens = game.getCurrentPot();
 		for (Player player : game.getPlayers()) {
 			actualTokens += player.getCurrentTokens();
 		}
@@ -241,10 +243,12 @@ public class TestRound {
 		assertEquals(3260, game.getTotalPot());
 		assertEquals(0, game.getCurrentBet());
 		assertEquals(5, game.getFlipedCards().size());
+		assertEquals(Cards.mask(game.getFlipedCards()), game.getBoard());
 
 		game.showDown();
 
-		int actualTokens = 0;
+		// the blinds of the next hand are in its pot
+		int actualTokens = game.getCurrentPot();
 		for (Player player : game.getPlayers()) {
 			actualTokens += player.getCurrentTokens();
 		}
@@ -261,6 +265,6 @@ public class TestRound {
 
 		assertEquals(0, game.getCurrentRound());
 		assertEquals(0, game.getTotalPot());
-		assertEquals(0, game.getCurrentBet());
+		assertEquals(game.getBigBlind(), game.getCurrentBet());
 	}
 }
@@ -49,7 +49,7 @@ public class TestRunGame {
 	public void testB_start() {
 		game.start();
 
-		assertEquals(Event.getEvents().get(0), "START GAME");
+		assertEquals(game.getEvents().getMessages().get(0), "START GAME");
 	}
 
 	@Test
@@ -107,7 +107,7 @@ public class TestRunGame {
 		int expectedHandSize = 2;
 
 		assertEquals(game.getDeck().getCards().size(), expectedDeckSize);
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"DEAL CARDS FOR PLAYERS");
 
 		assertEquals(player1.getCurrentHand().getSize(), expectedHandSize);
@@ -124,14 +124,14 @@ public class TestRunGame {
 
 		assertEquals(game.getCurrentPlayerInt(), 3);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"balla CALLS");
 		assertEquals(game.getPlayers().get(3).getCurrentTokens(), 1480);
 		assertEquals(game.getPlayers().get(3).getCurrentBet(), 20);
 
 		assertEquals(game.getCurrentPlayerInt(), 4);
 		game.getCurrentPlayer().fold();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"xan FOLDS");
 		assertEquals(game.getPlayers().get(4).getCurrentTokens(), 1500);
 		assertEquals(game.getPlayers().get(4).getCurrentBet(), 0);
@@ -139,7 +139,7 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 0);
 		assertEquals(game.getCurrentPlayer().isDealer(), true);
 		game.getCurrentPlayer().raise(raises);
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"rafik RAISES " + raises);
 		assertEquals(game.getPlayers().get(0).getCurrentTokens(), 1460);
 		assertEquals(game.getPlayers().get(0).getCurrentBet(), 40);
@@ -148,7 +148,7 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 1);
 		assertEquals(game.getCurrentPlayer().isSmallBlind(), true);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"lucas CALLS");
 		assertEquals(game.getPlayers().get(1).getCurrentTokens(), 1460);
 		assertEquals(game.getPlayers().get(1).getCurrentBet(), 40);
@@ -156,7 +156,7 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 2);
 		assertEquals(game.getCurrentPlayer().isBigBlind(), true);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"youga CALLS");
 		assertEquals(game.getPlayers().get(2).getCurrentTokens(), 1460);
 		assertEquals(game.getPlayers().get(2).getCurrentBet(), 40);
@@ -170,7 +170,7 @@ public class TestRunGame {
 		assertEquals(game.getDeck().getCards().size(), 42);
 		assertEquals(game.getCurrentPlayerInt(), 3);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"balla CALLS");
 		assertEquals(game.getPlayers().get(3).getCurrentTokens(), 1460);
 
@@ -191,7 +191,7 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 1);
 		assertEquals(game.getCurrentPlayer().isSmallBlind(), true);
 		game.getCurrentPlayer().raise(20);
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"lucas RAISES 20");
 		assertEquals(1440, game.getPlayers().get(1).getCurrentTokens());
 		assertEquals(0, game.getLastPlayerToPlay());
@@ -199,20 +199,20 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 2);
 		assertEquals(game.getCurrentPlayer().isBigBlind(), true);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"youga CALLS");
 		assertEquals(1440, game.getPlayers().get(2).getCurrentTokens());
 
 		assertEquals(3, game.getCurrentPlayerInt());
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"balla CALLS");
 		assertEquals(1440, game.getPlayers().get(3).getCurrentTokens());
 
 		assertEquals(game.getCurrentPlayerInt(), 0);
 		assertEquals(game.getCurrentPlayer().isDealer(), true);
 		game.getCurrentPlayer().raise(40);
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"rafik RAISES 40");
 		assertEquals(game.getPlayers().get(0).getCurrentTokens(), 1400);
 		assertEquals(4, game.getLastPlayerToPlay());
@@ -227,20 +227,20 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 1);
 		assertEquals(game.getCurrentPlayer().isSmallBlind(), true);
 		game.getCurrentPlayer().fold();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"lucas FOLDS");
 		assertEquals(game.getPlayers().get(1).getCurrentTokens(), 1440);
 
 		assertEquals(game.getCurrentPlayerInt(), 2);
 		assertEquals(game.getCurrentPlayer().isBigBlind(), true);
 		game.getCurrentPlayer().allIn();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"youga ALLIN");
 		assertEquals(game.getPlayers().get(2).getCurrentTokens(), 0);
 
 		assertEquals(game.getCurrentPlayerInt(), 3);
 		game.getCurrentPlayer().call();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"balla CALLS");
 		assertEquals(game.getPlayers().get(3).getCurrentTokens(), 0);
 		assertEquals(game.getCurrentBet(), 1460);
@@ -249,7 +249,7 @@ public class TestRunGame {
 		assertEquals(game.getCurrentPlayerInt(), 0);
 		assertEquals(game.getCurrentPlayer().isDealer(), true);
 		game.getCurrentPlayer().allIn();
-		assertEquals(Event.getEvents().get(Event.allEvents.size() - 1),
+		assertEquals(game.getEvents().getLast().getMessage(),
 				"rafik ALLIN");
 	}
 
@@ -263,6 +263,6 @@ public class TestRunGame {
 
 		assertEquals(0, game.getTotalPot());
 		assertEquals(0, game.getCurrentRound());
-		assertEquals(0, game.getCurrentBet());
+		assertEquals(game.getBigBlind(), game.getCurrentBet());
 	}
 }
@@ -2,26 +2,24 @@ package poker.server.model.game.card;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import poker.server.model.exception.GameException;
-import poker.server.model.game.GameFactory;
-import poker.server.model.game.GameFactoryLocal;
 
 public class TestCard {
 
 	private Deck cards;
-	private GameFactoryLocal gameFactory = new GameFactory();
 
 	@Before
 	public void beforeTest() {
 		cards = new Deck();
-		gameFactory.newGame(); // to activate events only
 	}
 
 	// the method "shuffle" is in getRandomCards...
@@ -89,4 +87,93 @@ public class TestCard {
 		Card cardSpade = Card.ACE_SPADE;
 		assertEquals(cardClub.getValue(), cardSpade.getValue());
 	}
+
+	@Test
+	public void testCardCodes() {
+
+		long all = Cards.mask(cards.getCards());
+		assertEquals(Cards.NUMBER_CARDS, Cards.count(all));
+
+		for (Card card : cards.getCards()) {
+			int code = card.getCode();
+			assertEquals(card.getValue(), Cards.value(code));
+			assertEquals(card.getSuit(), Cards.suitName(code));
+		}
+	}
+
+	@Test
+	public void testCardSet() {
+
+		long set = Cards.bit(Card.ACE_CLUB.getCode())
+				| Cards.bit(Card.ACE_SPADE.getCode())
+				| Cards.bit(Card.TWO_CLUB.getCode());
+
+		assertEquals(2, Cards.count(set & Cards.ofRank(Cards.ACE_RANK)));
+		assertEquals(2, Cards.count(set & Cards.ofSuit(Cards.CLUB)));
+		assertEquals(1 << Cards.ACE_RANK | 1 << Cards.TWO_RANK,
+				Cards.ranksOfSuit(set, Cards.CLUB));
+	}
+
+	@Test
+	public void testSeededDecksDealTheSameCards() {
+
+		Deck first = new Deck(new Random(42));
+		Deck second = new Deck(new Random(42));
+		first.shuffle();
+		second.shuffle();
+
+		for (int i = 0; i < 52; ++i)
+			assertEquals(first.getNextCard().getCode(), second.getNextCard()
+					.getCode());
+	}
+
+	@Test
+	public void testShuffleGathersTheCards() {
+
+		for (int i = 0; i < 20; ++i)
+			cards.getNextCard();
+		cards.shuffle();
+
+		assertEquals(52, cards.getCards().size());
+		assertEquals(Cards.NUMBER_CARDS,
+				Cards.count(Cards.mask(cards.getCards())));
+	}
+
+	@Test
+	public void testDeckCardSet() {
+
+		cards.shuffle();
+		int code = cards.getNextCode();
+
+		assertEquals(51, cards.getSize());
+		assertEquals(Cards.mask(cards.getCards()), cards.getCardSet());
+		assertEquals(0, cards.getCardSet() & Cards.bit(code));
+	}
+
+	@Test
+	public void testDeckOrderIsStoredAsCodes() {
+
+		cards.shuffle();
+		cards.getNextCard();
+
+		byte[] codes = cards.getCardCodes();
+		assertEquals(52, codes.length);
+
+		Deck loaded = new Deck();
+		loaded.setCardCodes(codes);
+		loaded.position = cards.position;
+
+		assertEquals(cards.getCards(), loaded.getCards());
+		assertSame(cards.getCards().get(0), loaded.getCards().get(0));
+	}
+
+	@Test
+	public void testCardsOfTheCodes() {
+
+		for (int code = 0; code < Cards.NUMBER_CARDS; ++code)
+			assertEquals(code, Card.valueOf(code).getCode());
+
+		assertEquals(Card.ACE_CLUB, Card.valueOf(Card.ACE_CLUB.getCode()));
+		assertEquals(0, Cards.decode(Cards.encode(null)).size());
+	}
 }
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -716,4 +717,38 @@ public class TestCompareHands {
 		assertTrue(ranking.get(player4) == 1);
 		assertTrue(ranking.get(player5) == 2);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetRankingByStrength() {
+
+		Map<Player, Integer> playersWithStrengths = new HashMap<Player, Integer>();
+		playersWithStrengths.put(player1, HandEvaluator.evaluate(cards(
+				Card.QUEEN_CLUB, Card.QUEEN_SPADE, Card.JACK_CLUB,
+				Card.JACK_SPADE, Card.JACK_HEART)));
+		playersWithStrengths.put(player2, HandEvaluator.evaluate(cards(
+				Card.TWO_CLUB, Card.FOUR_DIAMOND, Card.FIVE_SPADE,
+				Card.EIGHT_CLUB, Card.EIGHT_HEART)));
+		playersWithStrengths.put(player3, HandEvaluator.evaluate(cards(
+				Card.QUEEN_HEART, Card.QUEEN_DIAMOND, Card.JACK_CLUB,
+				Card.JACK_DIAMOND, Card.JACK_HEART)));
+		playersWithStrengths.put(player4, HandEvaluator.evaluate(cards(
+				Card.TEN_CLUB, Card.JACK_CLUB, Card.QUEEN_CLUB,
+				Card.KING_CLUB, Card.ACE_CLUB)));
+		playersWithStrengths.put(player5, HandEvaluator.evaluate(cards(
+				Card.TWO_DIAMOND, Card.FOUR_CLUB, Card.FIVE_HEART,
+				Card.EIGHT_SPADE, Card.EIGHT_DIAMOND)));
+
+		Map<Player, Integer> ranking = CompareHands
+				.getRankingByStrength(playersWithStrengths);
+
+		assertTrue(ranking.get(player1) == 2);
+		assertTrue(ranking.get(player2) == 3);
+		assertTrue(ranking.get(player3) == 2);
+		assertTrue(ranking.get(player4) == 1);
+		assertTrue(ranking.get(player5) == 3);
+	}
+
+	private List<Card> cards(Card... cards) {
+		return new ArrayList<Card>(Arrays.asList(cards));
+	}
+}
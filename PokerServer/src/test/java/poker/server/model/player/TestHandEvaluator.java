@@ -0,0 +1,154 @@
+package poker.server.model.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import poker.server.model.exception.PlayerException;
+import poker.server.model.game.card.Card;
+import poker.server.model.game.card.Cards;
+
+public class TestHandEvaluator {
+
+	@Test
+	public void testRoyalFlush() {
+
+		int strength = HandEvaluator.evaluate(cards(Card.KING_CLUB,
+				Card.QUEEN_CLUB, Card.TEN_CLUB, Card.ACE_CLUB, Card.JACK_CLUB,
+				Card.TWO_HEART, Card.NINE_CLUB));
+
+		assertEquals(HandEvaluator.ROYAL_FLUSH,
+				HandEvaluator.getCategory(strength));
+	}
+
+	@Test
+	public void testStraightFlushInSevenCards() {
+
+		int strength = HandEvaluator.evaluate(cards(Card.NINE_CLUB,
+				Card.QUEEN_CLUB, Card.TEN_CLUB, Card.EIGHT_CLUB,
+				Card.JACK_CLUB, Card.KING_HEART, Card.KING_SPADE));
+
+		assertEquals(HandEvaluator.STRAIGHT_FLUSH,
+				HandEvaluator.getCategory(strength));
+	}
+
+	@Test
+	public void testQuadsBeatFullHouse() {
+
+		int quads = HandEvaluator.evaluate(cards(Card.TWO_HEART,
+				Card.TWO_CLUB, Card.TWO_DIAMOND, Card.TWO_SPADE, Card.FIVE_CLUB,
+				Card.FIVE_HEART, Card.FIVE_DIAMOND));
+		int fullHouse = HandEvaluator.evaluate(cards(Card.ACE_HEART,
+				Card.ACE_CLUB, Card.ACE_DIAMOND, Card.KING_SPADE,
+				Card.KING_CLUB, Card.QUEEN_HEART, Card.JACK_DIAMOND));
+
+		assertEquals(HandEvaluator.QUADS, HandEvaluator.getCategory(quads));
+		assertEquals(HandEvaluator.FULL_HOUSE,
+				HandEvaluator.getCategory(fullHouse));
+		assertTrue(quads > fullHouse);
+	}
+
+	@Test
+	public void testTwoTripsMakeFullHouse() {
+
+		int strength = HandEvaluator.evaluate(cards(Card.SIX_HEART,
+				Card.SIX_CLUB, Card.SIX_DIAMOND, Card.NINE_SPADE,
+				Card.NINE_CLUB, Card.NINE_HEART, Card.TWO_DIAMOND));
+		int expected = HandEvaluator.evaluate(cards(Card.NINE_SPADE,
+				Card.NINE_CLUB, Card.NINE_HEART, Card.SIX_HEART, Card.SIX_CLUB));
+
+		assertEquals(expected, strength);
+	}
+
+	@Test
+	public void testWheelIsTheLowestStraight() {
+
+		int wheel = HandEvaluator.evaluate(cards(Card.ACE_HEART,
+				Card.TWO_CLUB, Card.THREE_DIAMOND, Card.FOUR_SPADE,
+				Card.FIVE_CLUB));
+		int sixHigh = HandEvaluator.evaluate(cards(Card.SIX_HEART,
+				Card.TWO_CLUB, Card.THREE_DIAMOND, Card.FOUR_SPADE,
+				Card.FIVE_CLUB));
+
+		assertEquals(HandEvaluator.STRAIGHT, HandEvaluator.getCategory(wheel));
+		assertTrue(sixHigh > wheel);
+	}
+
+	@Test
+	public void testKickerDecides() {
+
+		int aceKicker = HandEvaluator.evaluate(cards(Card.TEN_HEART,
+				Card.TEN_CLUB, Card.ACE_DIAMOND, Card.FOUR_SPADE,
+				Card.FIVE_CLUB));
+		int kingKicker = HandEvaluator.evaluate(cards(Card.TEN_SPADE,
+				Card.TEN_DIAMOND, Card.KING_DIAMOND, Card.FOUR_HEART,
+				Card.FIVE_HEART));
+
+		assertEquals(HandEvaluator.ONE_PAIR,
+				HandEvaluator.getCategory(aceKicker));
+		assertTrue(aceKicker > kingKicker);
+	}
+
+	@Test
+	public void testSameHandSameStrength() {
+
+		int first = HandEvaluator.evaluate(cards(Card.TEN_HEART,
+				Card.TEN_CLUB, Card.ACE_DIAMOND, Card.FOUR_SPADE,
+				Card.FIVE_CLUB));
+		int second = HandEvaluator.evaluate(cards(Card.TEN_SPADE,
+				Card.TEN_DIAMOND, Card.ACE_CLUB, Card.FOUR_HEART,
+				Card.FIVE_HEART));
+
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void testBestHandUsesTheBoard() {
+
+		List<Card> holeCards = cards(Card.TWO_HEART, Card.SEVEN_CLUB);
+		List<Card> board = cards(Card.ACE_SPADE, Card.KING_SPADE,
+				Card.QUEEN_SPADE, Card.JACK_SPADE, Card.TEN_SPADE);
+
+		int strength = HandEvaluator.evaluate(Cards.mask(holeCards),
+				Cards.mask(board));
+		Hand bestHand = HandEvaluator.getBestHand(strength, holeCards, board);
+
+		assertEquals(HandEvaluator.ROYAL_FLUSH,
+				HandEvaluator.getCategory(strength));
+		assertEquals(5, bestHand.getSize());
+		assertTrue(bestHand.getCards().containsAll(board));
+	}
+
+	@Test
+	public void testBestHandOfFlush() {
+
+		List<Card> holeCards = cards(Card.TWO_HEART, Card.KING_HEART);
+		List<Card> board = cards(Card.ACE_HEART, Card.NINE_HEART,
+				Card.FOUR_HEART, Card.JACK_SPADE, Card.SIX_HEART);
+
+		int strength = HandEvaluator.evaluate(Cards.mask(holeCards),
+				Cards.mask(board));
+		Hand bestHand = HandEvaluator.getBestHand(strength, holeCards, board);
+
+		assertEquals(HandEvaluator.FLUSH, HandEvaluator.getCategory(strength));
+		assertEquals(HandEvaluator.FLUSH, bestHand.evaluateHand());
+		assertTrue(bestHand.getCards().contains(Card.KING_HEART));
+		assertTrue(!bestHand.getCards().contains(Card.TWO_HEART));
+	}
+
+	@Test(expected = PlayerException.class)
+	public void testNotEnoughCards() {
+
+		HandEvaluator.evaluate(cards(Card.TEN_HEART, Card.TEN_CLUB,
+				Card.ACE_DIAMOND, Card.FOUR_SPADE));
+	}
+
+	private List<Card> cards(Card... cards) {
+		return new ArrayList<Card>(Arrays.asList(cards));
+	}
+}
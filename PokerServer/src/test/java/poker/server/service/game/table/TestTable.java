@@ -0,0 +1,899 @@
+package poker.server.service.game.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import poker.server.infrastructure.RepositoryGame;
+import poker.server.infrastructure.RepositoryGameType;
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.GameException;
+import poker.server.model.game.Event;
+import poker.server.model.game.Game;
+import poker.server.model.game.GameFactory;
+import poker.server.model.game.GameFactoryLocal;
+import poker.server.model.game.parameters.GameType;
+import poker.server.model.game.parameters.SitAndGo;
+import poker.server.model.player.Player;
+import poker.server.model.player.PlayerFactory;
+import poker.server.model.player.PlayerFactoryLocal;
+import poker.server.service.player.PlayerCommand;
+import poker.server.service.game.timer.Deadline;
+import poker.server.service.game.timer.TimingWheel;
+import poker.server.service.player.PlayerService;
+
+public class TestTable {
+
+	private PlayerFactoryLocal playerFactory = new PlayerFactory();
+	private GameFactoryLocal gameFactory = new GameFactory();
+
+	private Game game;
+	private Table table;
+	private FakeRepositoryGame repositoryGame;
+	private List<String> released;
+	private List<Game> registered;
+	private Lobby lobby;
+	private FakeTimingWheel timingWheel;
+
+	@Before
+	public void beforeTest() {
+
+		game = gameFactory.newGame();
+		repositoryGame = new FakeRepositoryGame();
+		released = new ArrayList<String>();
+		registered = new ArrayList<Game>();
+		lobby = new Lobby();
+		timingWheel = new FakeTimingWheel();
+
+		table = new Table(game, new DirectExecutor(), new DirectExecutor(),
+				repositoryGame, new FakeRegistry());
+	}
+
+	@Test
+	public void testTasksRunInOrder() throws Exception {
+
+		final List<Integer> order = new ArrayList<Integer>();
+
+		for (int i = 0; i < 3; ++i) {
+			final int number = i;
+			table.submit(new TableTask<Void>() {
+
+				@Override
+				public Void run(Game game) {
+					order.add(number);
+					return null;
+				}
+			});
+		}
+
+		assertEquals(3, order.size());
+		assertEquals(Integer.valueOf(0), order.get(0));
+		assertEquals(Integer.valueOf(2), order.get(2));
+	}
+
+	@Test
+	public void testReadDoesNotFlush() throws Exception {
+
+		String name = table.submit(new TableTask<String>() {
+
+			@Override
+			public String run(Game game) {
+				return game.getName();
+			}
+		}).get();
+
+		assertEquals(game.getName(), name);
+		assertEquals(0, repositoryGame.updates);
+	}
+
+	@Test
+	public void testFlushAtHandBoundary() throws Exception {
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				game.add(playerFactory.newPlayer("lucas", "lucas"));
+				game.add(playerFactory.newPlayer("youga", "youga"));
+				game.add(playerFactory.newPlayer("balla", "balla"));
+				game.add(playerFactory.newPlayer("xan", "xan"));
+				game.start();
+				return null;
+			}
+		});
+
+		assertEquals(1, repositoryGame.updates);
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.getCurrentPlayer().call();
+				return null;
+			}
+		});
+
+		assertEquals(1, repositoryGame.updates);
+		assertEquals(0, released.size());
+	}
+
+	@Test
+	public void testFlushDoesNotWaitForTheWrite() throws Exception {
+
+		table = new Table(game, new DirectExecutor(), new IdleExecutor(),
+				repositoryGame, new FakeRegistry());
+		startGame();
+
+		String player = table.submit(new TableTask<String>() {
+
+			@Override
+			public String run(Game game) {
+				game.getCurrentPlayer().call();
+				return game.getCurrentPlayer().getName();
+			}
+		}).get();
+
+		assertEquals(game.getCurrentPlayer().getName(), player);
+		assertEquals(0, repositoryGame.updates);
+	}
+
+	@Test
+	public void testFailedFlushIsWrittenAgain() throws Exception {
+
+		repositoryGame.failures = 1;
+		startGame();
+
+		assertEquals(1, repositoryGame.updates);
+		assertEquals(1, timingWheel.count(Table.FLUSH_RETRY_DELAY));
+
+		// the game isn't known as flushed, nor copied again, before the retry
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.getCurrentPlayer().call();
+				return null;
+			}
+		});
+		assertEquals(1, repositoryGame.updates);
+
+		timingWheel.last(Table.FLUSH_RETRY_DELAY).run();
+		assertEquals(2, repositoryGame.updates);
+		assertEquals(game.getHandNumber(),
+				repositoryGame.written.getHandNumber());
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.getCurrentPlayer().call();
+				return null;
+			}
+		});
+		assertEquals(2, repositoryGame.updates);
+	}
+
+	@Test(expected = java.util.concurrent.ExecutionException.class)
+	public void testFailedTaskGivesTheException() throws Exception {
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.showDown();
+				return null;
+			}
+		}).get();
+	}
+
+	@Test
+	public void testFullMailboxRefusesTasks() throws Exception {
+
+		table = new Table(game, new IdleExecutor(), new DirectExecutor(),
+				repositoryGame, new FakeRegistry());
+
+		TableTask<Void> task = new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				return null;
+			}
+		};
+
+		for (int i = 0; i < Table.MAILBOX_CAPACITY; ++i)
+			table.submit(task);
+
+		assertEquals(Table.MAILBOX_CAPACITY, table.getPendingTasks());
+
+		try {
+			table.submit(task);
+			fail("a full mailbox must refuse the task");
+		} catch (GameException e) {
+			assertEquals(ErrorMessage.TABLE_NOT_AVAILABLE, e.getError());
+		}
+		assertEquals(Table.MAILBOX_CAPACITY, table.getPendingTasks());
+	}
+
+	@Test
+	public void testWaitingTaskIsCancelled() throws Exception {
+
+		table = new Table(game, new IdleExecutor(), new DirectExecutor(),
+				repositoryGame, new FakeRegistry());
+
+		Future<Void> future = table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				return null;
+			}
+		});
+
+		assertTrue(future.cancel(false));
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void testStartedTaskIsNotCancelled() throws Exception {
+
+		final List<Future<Boolean>> started = new ArrayList<Future<Boolean>>();
+		final List<Runnable> workers = new ArrayList<Runnable>();
+
+		table = new Table(game, new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				workers.add(command);
+			}
+		}, new DirectExecutor(), repositoryGame, new FakeRegistry());
+
+		started.add(table.submit(new TableTask<Boolean>() {
+
+			@Override
+			public Boolean run(Game game) {
+				return started.get(0).cancel(false);
+			}
+		}));
+
+		workers.get(0).run();
+
+		assertFalse(started.get(0).isCancelled());
+		assertFalse(started.get(0).get());
+	}
+
+	@Test
+	public void testPlayerCommandChecksTheTurn() throws Exception {
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				game.add(playerFactory.newPlayer("lucas", "lucas"));
+				game.add(playerFactory.newPlayer("youga", "youga"));
+				game.add(playerFactory.newPlayer("balla", "balla"));
+				game.add(playerFactory.newPlayer("xan", "xan"));
+				game.start();
+				return null;
+			}
+		});
+
+		String current = game.getCurrentPlayer().getName();
+		String other = game.getPlayer("rafik").getName().equals(current) ? "lucas"
+				: "rafik";
+
+		try {
+			table.submit(new PlayerCommand(other, PlayerService.CALL, 0))
+					.get();
+			fail("a player can't play out of his turn");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof GameException);
+		}
+
+		table.submit(new PlayerCommand(current, PlayerService.CALL, 0)).get();
+		assertFalse(current.equals(game.getCurrentPlayer().getName()));
+	}
+
+	@Test
+	public void testAwaitKnownEvents() throws Exception {
+
+		game.addEvent(Event.GAME, "first");
+		game.addEvent(Event.GAME, "second");
+
+		List<Event> events = table.awaitEventsSince(1, 0);
+		assertEquals(1, events.size());
+		assertEquals("second", events.get(0).getMessage());
+
+		assertTrue(table.awaitEventsSince(2, 10).isEmpty());
+
+		// a sequence unknown by the journal gives all its events
+		assertEquals(2, table.awaitEventsSince(42, 0).size());
+	}
+
+	@Test
+	public void testTaskWakesUpWaitingClient() throws Exception {
+
+		final List<Event> received = new ArrayList<Event>();
+
+		Thread client = new Thread() {
+
+			@Override
+			public void run() {
+				try {
+					received.addAll(table.awaitEventsSince(0, 10000));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		client.start();
+
+		table.submit(new TableTask<Long>() {
+
+			@Override
+			public Long run(Game game) {
+				return game.addEvent(Event.ACTION, "rafik CHECKS");
+			}
+		});
+
+		client.join(5000);
+		assertFalse(client.isAlive());
+		assertEquals(1, received.size());
+		assertEquals("rafik CHECKS", received.get(0).getMessage());
+	}
+
+	@Test
+	public void testOnlyModifyingTasksChangeTheVersion() throws Exception {
+
+		TableTask<String> task = new TableTask<String>() {
+
+			@Override
+			public String run(Game game) {
+				return game.getName();
+			}
+		};
+
+		long version = table.getVersion();
+
+		table.read(task);
+		assertEquals(version, table.getVersion());
+
+		table.submit(task);
+		assertEquals(version + 1, table.getVersion());
+	}
+
+	@Test
+	public void testSnapshotsKeepTheLastVersions() {
+
+		TableSnapshots snapshots = new TableSnapshots(2);
+		JSONObject first = new JSONObject();
+		JSONObject second = new JSONObject();
+		JSONObject third = new JSONObject();
+
+		snapshots.put(1, first);
+		snapshots.put(2, second);
+		assertSame(first, snapshots.get(1));
+
+		snapshots.put(3, third);
+		assertNull(snapshots.get(1));
+		assertSame(second, snapshots.get(2));
+		assertSame(third, snapshots.get(3));
+		assertNull(snapshots.get(4));
+	}
+
+	@Test
+	public void testLobbyFollowsTheGame() throws Exception {
+
+		assertEquals(1, lobby.getEntries().size());
+		assertTrue(lobby.hasWaitingGame(game.getGameType().getName()));
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				game.add(playerFactory.newPlayer("lucas", "lucas"));
+				return null;
+			}
+		});
+
+		LobbyEntry entry = lobby.getEntries().get(0);
+		assertEquals(game.getName(), entry.getTableName());
+		assertEquals(2, entry.getPlayersNames().size());
+		assertEquals("lucas", entry.getPlayersNames().get(1));
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("youga", "youga"));
+				game.add(playerFactory.newPlayer("balla", "balla"));
+				game.add(playerFactory.newPlayer("xan", "xan"));
+				return null;
+			}
+		});
+
+		assertFalse(lobby.hasWaitingGame(game.getGameType().getName()));
+		assertEquals(1, lobby.getEntries().size());
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.start();
+				return null;
+			}
+		});
+
+		assertTrue(lobby.getEntries().isEmpty());
+	}
+
+	@Test
+	public void testLobbySnapshotIsKeptUntilAChange() throws Exception {
+
+		LobbySnapshot snapshot = lobby.getSnapshot();
+		assertSame(snapshot, lobby.getSnapshot());
+		assertEquals(1, snapshot.getEntries().size());
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				return null;
+			}
+		}).get();
+
+		LobbySnapshot changed = lobby.getSnapshot();
+		assertNotSame(snapshot, changed);
+		assertFalse(snapshot.getTag().equals(changed.getTag()));
+		assertEquals(1, changed.getEntries().get(0).getPlayersNames().size());
+		assertEquals(0, snapshot.getEntries().get(0).getPlayersNames().size());
+	}
+
+	@Test
+	public void testProvisionerCopiesTheCachedTypes() throws Exception {
+
+		FakeRepositoryGameType repositoryGameType = new FakeRepositoryGameType();
+		GameType cached = new SitAndGo();
+		repositoryGameType.cached.add(cached);
+
+		new TableProvisioner(new FakeRegistry(), gameFactory,
+				repositoryGameType, new DirectExecutor(), 2).refill();
+
+		assertEquals(1, registered.size());
+		assertNotSame(cached, registered.get(0).getGameType());
+		assertEquals(0, cached.getNumberOfCurrentGames());
+		assertEquals(1, registered.get(0).getGameType()
+				.getNumberOfCurrentGames());
+	}
+
+	@Test
+	public void testProvisionerKeepsEmptyTables() throws Exception {
+
+		final TableProvisioner provisioner = new TableProvisioner(
+				new FakeRegistry(), gameFactory, new FakeRepositoryGameType(),
+				new DirectExecutor(), 2);
+
+		provisioner.refill();
+		assertEquals(1, registered.size());
+		assertEquals(2, lobby.countEmptyGames(game.getGameType().getName()));
+
+		lobby.setListener(new Runnable() {
+
+			@Override
+			public void run() {
+				provisioner.requestRefill();
+			}
+		});
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				return null;
+			}
+		});
+
+		assertEquals(2, registered.size());
+		assertEquals(2, lobby.countEmptyGames(game.getGameType().getName()));
+		assertEquals(3, lobby.getEntries().size());
+	}
+
+	@Test
+	public void testBlindsRaisedByTheWheel() throws Exception {
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				game.add(playerFactory.newPlayer("lucas", "lucas"));
+				game.add(playerFactory.newPlayer("youga", "youga"));
+				game.add(playerFactory.newPlayer("balla", "balla"));
+				game.add(playerFactory.newPlayer("xan", "xan"));
+				game.start();
+				return null;
+			}
+		});
+
+		int blindsDelay = game.getGameType().getTimeChangeBlind();
+		assertEquals(1, timingWheel.count(blindsDelay));
+
+		int smallBlind = game.getSmallBlind();
+		long version = table.getVersion();
+
+		timingWheel.last(blindsDelay).run();
+
+		assertEquals(smallBlind * game.getGameType().getMultFactor(),
+				game.getSmallBlind());
+		assertEquals(2 * game.getSmallBlind(), game.getBigBlind());
+		assertEquals(version + 1, table.getVersion());
+		assertEquals(2, timingWheel.count(blindsDelay));
+	}
+
+	@Test
+	public void testExpiredTurnIsPlayed() throws Exception {
+
+		startGame();
+
+		int speakTime = game.getGameType().getSpeakTime();
+		assertEquals(1, timingWheel.count(speakTime));
+
+		Player first = game.getCurrentPlayer();
+		Runnable expired = timingWheel.last(speakTime);
+		expired.run();
+
+		assertTrue(first.isfolded());
+		assertNotSame(first, game.getCurrentPlayer());
+		assertEquals(2, timingWheel.count(speakTime));
+
+		// the turn has moved, the first clock has nothing more to do
+		Player second = game.getCurrentPlayer();
+		expired.run();
+		assertFalse(second.isfolded());
+	}
+
+	@Test
+	public void testBlindsRaisedDuringATurn() throws Exception {
+
+		startGame();
+
+		int speakTime = game.getGameType().getSpeakTime();
+		int blindsDelay = game.getGameType().getTimeChangeBlind();
+
+		Player first = game.getCurrentPlayer();
+		Runnable expired = timingWheel.last(speakTime);
+
+		// the blinds raised during the turn don't disarm its clock
+		timingWheel.last(blindsDelay).run();
+		assertEquals(1, timingWheel.count(speakTime));
+
+		expired.run();
+
+		assertTrue(first.isfolded());
+		assertNotSame(first, game.getCurrentPlayer());
+		assertEquals(2, timingWheel.count(speakTime));
+	}
+
+	@Test
+	public void testActionCancelsTheClock() throws Exception {
+
+		startGame();
+
+		int speakTime = game.getGameType().getSpeakTime();
+		Runnable expired = timingWheel.last(speakTime);
+
+		Player first = game.getCurrentPlayer();
+		table.submit(new PlayerCommand(first.getName(), PlayerService.CALL, 0));
+
+		Player second = game.getCurrentPlayer();
+		expired.run();
+
+		assertFalse(first.isfolded());
+		assertFalse(second.isfolded());
+		assertEquals(2, timingWheel.count(speakTime));
+	}
+
+	@Test
+	public void testRepeatedlyExpiredPlayerIsMissing() throws Exception {
+
+		startGame();
+
+		int speakTime = game.getGameType().getSpeakTime();
+		Player bigBlind = null;
+		for (Player player : game.getPlayers()) {
+			if (player.isBigBlind())
+				bigBlind = player;
+		}
+
+		// the others call, the big blind lets his clock check for him
+		for (int turns = 0; turns < 20 && !bigBlind.isMissing(); ++turns) {
+
+			Player current = game.getCurrentPlayer();
+			if (current == bigBlind)
+				timingWheel.last(speakTime).run();
+			else
+				table.submit(new PlayerCommand(current.getName(), current
+						.getCurrentBet() == game.getCurrentBet() ? PlayerService.CHECK
+						: PlayerService.CALL, 0));
+		}
+
+		assertTrue(bigBlind.isMissing());
+	}
+
+	private void startGame() {
+
+		table.submit(new TableTask<Void>() {
+
+			@Override
+			public Void run(Game game) {
+				game.add(playerFactory.newPlayer("rafik", "rafik"));
+				game.add(playerFactory.newPlayer("lucas", "lucas"));
+				game.add(playerFactory.newPlayer("youga", "youga"));
+				game.add(playerFactory.newPlayer("balla", "balla"));
+				game.add(playerFactory.newPlayer("xan", "xan"));
+				game.start();
+				return null;
+			}
+		});
+	}
+
+	private static class FakeTimingWheel extends TimingWheel {
+
+		private final List<Runnable> tasks = new ArrayList<Runnable>();
+		private final List<Long> delays = new ArrayList<Long>();
+
+		FakeTimingWheel() {
+			super(TimingWheel.DEFAULT_TICK, TimeUnit.MILLISECONDS,
+					TimingWheel.DEFAULT_SIZE);
+		}
+
+		Runnable last(int seconds) {
+			return tasks.get(delays.lastIndexOf(Long.valueOf(seconds)));
+		}
+
+		int count(int seconds) {
+
+			int count = 0;
+			for (Long delay : delays) {
+				if (delay.longValue() == seconds)
+					++count;
+			}
+			return count;
+		}
+
+		@Override
+		public Deadline schedule(Runnable task, long delay, TimeUnit unit) {
+			tasks.add(task);
+			delays.add(unit.toSeconds(delay));
+			return super.schedule(task, delay, unit);
+		}
+	}
+
+	private static class IdleExecutor implements Executor {
+
+		@Override
+		public void execute(Runnable command) {
+		}
+	}
+
+	private static class DirectExecutor implements Executor {
+
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	}
+
+	private class FakeRegistry implements TableRegistryLocal {
+
+		@Override
+		public Table getTable(String tableName) {
+			return table;
+		}
+
+		@Override
+		public Table getTableOfPlayer(String playerName) {
+			return table;
+		}
+
+		@Override
+		public void seat(String playerName, String tableName) {
+		}
+
+		@Override
+		public Table register(Game game) {
+			registered.add(game);
+			return new Table(game, new DirectExecutor(), new DirectExecutor(),
+					repositoryGame, this);
+		}
+
+		@Override
+		public void release(String tableName) {
+			released.add(tableName);
+		}
+
+		@Override
+		public Collection<Table> getTables() {
+			return new ArrayList<Table>();
+		}
+
+		@Override
+		public Lobby getLobby() {
+			return lobby;
+		}
+
+		@Override
+		public TimingWheel getTimingWheel() {
+			return timingWheel;
+		}
+	}
+
+	private static class FakeRepositoryGameType implements
+			RepositoryGameType {
+
+		final List<GameType> cached = new ArrayList<GameType>();
+
+		@Override
+		public GameType load(String id) {
+			for (GameType gameType : cached) {
+				if (gameType.getName().equals(id))
+					return new SitAndGo();
+			}
+			return null;
+		}
+
+		@Override
+		public GameType save(GameType entity) {
+			return entity;
+		}
+
+		@Override
+		public GameType saveOrUpdate(GameType entity, String id) {
+			return entity;
+		}
+
+		@Override
+		public List<GameType> saveOrUpdateAll(Collection<GameType> entities) {
+			return new ArrayList<GameType>(entities);
+		}
+
+		@Override
+		public void delete(String id) {
+		}
+
+		@Override
+		public List<GameType> loadAll() {
+			return new ArrayList<GameType>();
+		}
+
+		@Override
+		public List<GameType> loadPage(String after, int size) {
+			return new ArrayList<GameType>();
+		}
+
+		@Override
+		public GameType update(GameType entity) {
+			return entity;
+		}
+
+		@Override
+		public GameType loadCached(String id) {
+			return null;
+		}
+
+		@Override
+		public List<GameType> loadAllCached() {
+			return cached;
+		}
+
+		@Override
+		public void evict(String id) {
+		}
+
+		@Override
+		public boolean existSitAndGo() {
+			return false;
+		}
+
+		@Override
+		public GameType getSitAndGo() {
+			return null;
+		}
+	}
+
+	private static class FakeRepositoryGame implements RepositoryGame {
+
+		int updates = 0;
+		int failures = 0;
+		Game written;
+
+		@Override
+		public Game load(String id) {
+			return null;
+		}
+
+		@Override
+		public Game save(Game entity) {
+			return entity;
+		}
+
+		@Override
+		public Game saveOrUpdate(Game entity, String id) {
+			return entity;
+		}
+
+		@Override
+		public List<Game> saveOrUpdateAll(Collection<Game> entities) {
+			return new ArrayList<Game>(entities);
+		}
+
+		@Override
+		public void delete(String id) {
+		}
+
+		@Override
+		public List<Game> loadAll() {
+			return new ArrayList<Game>();
+		}
+
+		@Override
+		public List<Game> loadPage(String after, int size) {
+			return new ArrayList<Game>();
+		}
+
+		@Override
+		public Game update(Game entity) {
+			++updates;
+			if (failures > 0) {
+				--failures;
+				throw new IllegalStateException("database not available");
+			}
+			written = entity;
+			return entity;
+		}
+
+		@Override
+		public Game loadTable(String tableName) {
+			return null;
+		}
+
+		@Override
+		public Game currentGame() {
+			return null;
+		}
+
+		@Override
+		public boolean exist(GameType param) {
+			return false;
+		}
+
+		@Override
+		public List<Game> getNotReadyGames() {
+			return new ArrayList<Game>();
+		}
+
+		@Override
+		public List<Game> getReadyOrNotGames(String after, int size) {
+			return new ArrayList<Game>();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package poker.server.service.game.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTimingWheel {
+
+	private TimingWheel wheel;
+	private AtomicInteger runs;
+	private Runnable task;
+
+	@Before
+	public void beforeTest() {
+
+		wheel = new TimingWheel(1, TimeUnit.SECONDS, 4);
+		runs = new AtomicInteger();
+		task = new Runnable() {
+
+			@Override
+			public void run() {
+				runs.incrementAndGet();
+			}
+		};
+	}
+
+	@Test
+	public void testRunAtItsTick() {
+
+		Deadline deadline = wheel.schedule(task, 2, TimeUnit.SECONDS);
+
+		wheel.tick(1);
+		assertEquals(0, runs.get());
+
+		wheel.tick(2);
+		wheel.tick(3);
+		assertEquals(1, runs.get());
+		assertTrue(deadline.isExpired());
+		assertFalse(deadline.cancel());
+	}
+
+	@Test
+	public void testRunAfterSeveralTurns() {
+
+		wheel.schedule(task, 9, TimeUnit.SECONDS);
+
+		for (int tick = 1; tick <= 8; ++tick)
+			wheel.tick(tick);
+		assertEquals(0, runs.get());
+
+		wheel.tick(9);
+		wheel.tick(10);
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	public void testCancelledIsNeverRun() {
+
+		Deadline before = wheel.schedule(task, 2, TimeUnit.SECONDS);
+		assertTrue(before.cancel());
+
+		Deadline after = wheel.schedule(task, 6, TimeUnit.SECONDS);
+		wheel.tick(1);
+		assertTrue(after.cancel());
+
+		for (int tick = 2; tick <= 8; ++tick)
+			wheel.tick(tick);
+
+		assertEquals(0, runs.get());
+		assertTrue(after.isCancelled());
+	}
+
+	@Test
+	public void testPassedDeadlineRunAtTheNextTick() {
+
+		wheel.schedule(task, 0, TimeUnit.SECONDS);
+		wheel.schedule(task, 1, TimeUnit.SECONDS);
+
+		wheel.tick(5);
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	public void testThreadTurnsTheWheel() throws Exception {
+
+		TimingWheel turning = new TimingWheel(10, TimeUnit.MILLISECONDS, 8);
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		turning.start();
+		try {
+			turning.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					latch.countDown();
+				}
+			}, 50, TimeUnit.MILLISECONDS);
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} finally {
+			turning.stop();
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package poker.server.service.sign;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import poker.server.infrastructure.RepositoryAccessToken;
+import poker.server.infrastructure.RepositoryConsumer;
+import poker.server.infrastructure.auth.AccessToken;
+import poker.server.infrastructure.auth.Consumer;
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.SignatureException;
+
+public class TestSignatureService {
+
+	private static int tokens;
+	private static int nonces;
+
+	private SignatureService signatureService;
+	private Map<String, Object> rows;
+	private int loads;
+
+	private RepositoryConsumer repositoryConsumer;
+	private RepositoryAccessToken repositoryAccessToken;
+
+	private Consumer consumer;
+	private String token;
+
+	@Before
+	public void beforeTest() {
+
+		signatureService = SignatureService.getInstance();
+		rows = new HashMap<String, Object>();
+		loads = 0;
+
+		repositoryConsumer = fake(RepositoryConsumer.class);
+		repositoryAccessToken = fake(RepositoryAccessToken.class);
+
+		consumer = new Consumer("consumer", "secret", "poker", "uri");
+		token = "token" + (++tokens);
+
+		rows.put(consumer.getConsumerKey(), consumer);
+		rows.put(token, new AccessToken(consumer, token, "secret", null, null,
+				-1));
+	}
+
+	@Test
+	public void testValidatedTokenIsNotLoadedAgain() {
+
+		verify("rafik");
+		assertEquals(2, loads);
+
+		verify("rafik");
+		verify("lucas");
+		assertEquals(2, loads);
+	}
+
+	@Test
+	public void testRevokedTokenIsCheckedAgain() {
+
+		verify("rafik");
+		signatureService.revoke(token);
+		rows.remove(token);
+
+		try {
+			verify("rafik");
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.UNKNOWN_ACCESS_TOKEN, e.getError());
+		}
+	}
+
+	@Test
+	public void testRevokedConsumerIsCheckedAgain() {
+
+		verify("rafik");
+		signatureService.revokeConsumer(consumer.getConsumerKey());
+
+		verify("rafik");
+		assertEquals(4, loads);
+	}
+
+	@Test
+	public void testTokenOfAnotherConsumerIsNotValidated() {
+
+		Consumer other = new Consumer("other", "secret", "poker", "uri");
+		rows.put(other.getConsumerKey(), other);
+
+		for (int i = 0; i < 2; ++i) {
+			try {
+				verify(other.getConsumerKey(), "rafik", now(), nonce());
+				fail();
+			} catch (SignatureException e) {
+				assertEquals(ErrorMessage.INCOMPATIBLE_ACCESS_TOKEN_CONSUMER,
+						e.getError());
+			}
+		}
+		assertEquals(4, loads);
+	}
+
+	@Test
+	public void testModifiedFieldIsRefused() {
+
+		String signature = signature(consumer.getConsumerKey(), "rafik",
+				now(), nonce()).replace("rafik", "lucas");
+
+		try {
+			signatureService.verifySignature(SignatureService.FOLD,
+					consumer.getConsumerKey(), signature, repositoryConsumer,
+					repositoryAccessToken);
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.INVALID_SIGNATURE, e.getError());
+		}
+	}
+
+	@Test
+	public void testSignatureOfAnotherActionIsRefused() {
+
+		String signature = signature(consumer.getConsumerKey(), "rafik",
+				now(), nonce());
+
+		try {
+			signatureService.verifySignature(SignatureService.CALL,
+					consumer.getConsumerKey(), signature, repositoryConsumer,
+					repositoryAccessToken);
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.INVALID_SIGNATURE, e.getError());
+		}
+	}
+
+	@Test
+	public void testReplayedSignatureIsRefused() {
+
+		String nonce = nonce();
+		long timestamp = now();
+
+		verify(consumer.getConsumerKey(), "rafik", timestamp, nonce);
+
+		try {
+			verify(consumer.getConsumerKey(), "rafik", timestamp, nonce);
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.EXPIRED_SIGNATURE, e.getError());
+		}
+	}
+
+	@Test
+	public void testOldSignatureIsRefused() {
+
+		try {
+			verify(consumer.getConsumerKey(), "rafik", now()
+					- SignatureService.SIGNATURE_WINDOW - 1, nonce());
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.EXPIRED_SIGNATURE, e.getError());
+		}
+	}
+
+	private void verify(String playerName) {
+		verify(consumer.getConsumerKey(), playerName, now(), nonce());
+	}
+
+	private void verify(String consumerKey, String playerName,
+			long timestamp, String nonce) {
+
+		signatureService.verifySignature(SignatureService.FOLD, consumerKey,
+				signature(consumerKey, playerName, timestamp, nonce),
+				repositoryConsumer, repositoryAccessToken);
+	}
+
+	private String signature(String consumerKey, String playerName,
+			long timestamp, String nonce) {
+
+		String fields = "consumerKey&" + consumerKey + "&token&" + token
+				+ "&playerName&" + playerName + "&timestamp&" + timestamp
+				+ "&nonce&" + nonce;
+
+		return SignatureService.sign(SignatureService.FOLD,
+				consumer.getSecret(), "secret", fields) + "&" + fields;
+	}
+
+	private long now() {
+		return System.currentTimeMillis() / 1000;
+	}
+
+	private String nonce() {
+		return "nonce" + (++nonces);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T fake(Class<T> repository) {
+
+		return (T) Proxy.newProxyInstance(repository.getClassLoader(),
+				new Class<?>[] { repository }, new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method,
+							Object[] args) {
+
+						if (!method.getName().equals("loadCached"))
+							throw new UnsupportedOperationException();
+						++loads;
+						return rows.get(args[0]);
+					}
+				});
+	}
+}
@@ -0,0 +1,58 @@
+package poker.server.service.sign;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import poker.server.model.exception.ErrorMessage;
+import poker.server.model.exception.SignatureException;
+
+public class TestUsedNonces {
+
+	private static final int WINDOW = 60;
+
+	private UsedNonces usedNonces;
+
+	@Before
+	public void beforeTest() {
+		usedNonces = new UsedNonces(2, WINDOW);
+	}
+
+	@Test
+	public void testUsedNonceIsRefusedWithinTheWindow() {
+
+		assertTrue(usedNonces.use("consumer", "nonce", 1000, 1000));
+		assertFalse(usedNonces.use("consumer", "nonce", 1000, 1000 + WINDOW));
+	}
+
+	@Test
+	public void testFullConsumerIsRefusedInsteadOfForgetting() {
+
+		usedNonces.use("consumer", "nonce1", 1000, 1000);
+		usedNonces.use("consumer", "nonce2", 1000, 1000);
+
+		try {
+			usedNonces.use("consumer", "nonce3", 1000, 1000);
+			fail();
+		} catch (SignatureException e) {
+			assertEquals(ErrorMessage.TOO_MANY_SIGNATURES, e.getError());
+		}
+
+		assertFalse(usedNonces.use("consumer", "nonce1", 1000, 1000));
+		assertTrue(usedNonces.use("other", "nonce1", 1000, 1000));
+	}
+
+	@Test
+	public void testExpiredNoncesAreForgotten() {
+
+		usedNonces.use("consumer", "nonce1", 1000, 1000);
+		usedNonces.use("consumer", "nonce2", 1010, 1010);
+
+		assertTrue(usedNonces.use("consumer", "nonce1", 1061, 1061));
+		assertFalse(usedNonces.use("consumer", "nonce2", 1061, 1061));
+	}
+}